@@ -21,4 +21,5 @@ module org.sejda.io {
 
     requires org.sejda.commons;
     requires org.slf4j;
+    requires static jdk.unsupported;
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Creates temporary files that have no name on the file system, so they don't need to be deleted and they don't need to be registered for deletion on exit: the storage is
+ * released as soon as the returned channel is closed, even if the JVM crashes. A file is created in the {@link SeekableSources#TEMP_DIR_PROPERTY} directory (a tmpfs mount
+ * is a good fit) and unlinked right after being opened. On Linux, when {@link SeekableSources#ENABLE_MEMFD_PROPERTY} is set, an anonymous in-memory file is created with
+ * {@code memfd_create} instead, its content is held in RAM (or swap) and not on disk. If that fails the unlinked file is used.
+ *
+ * @author Andrea Vacondio
+ */
+final class AnonymousTempFiles {
+    private static final Logger LOG = LoggerFactory.getLogger(AnonymousTempFiles.class);
+    private static final int MFD_CLOEXEC = 1;
+
+    private AnonymousTempFiles() {
+        // hide
+    }
+
+    /**
+     * An anonymous temporary file, readable and writable through its channel
+     *
+     * @param id
+     *            unique id of the temporary file, ending with the name hint
+     * @param channel
+     *            the channel, closing it releases the file
+     */
+    record TempFile(String id, FileChannel channel) {
+    }
+
+    /**
+     * @param nameHint
+     *            name of the file, only used for debugging purposes
+     * @return a new anonymous temporary file
+     */
+    static TempFile create(String nameHint) throws IOException {
+        if (Boolean.getBoolean(SeekableSources.ENABLE_MEMFD_PROPERTY)) {
+            Optional<TempFile> memfd = memfd(nameHint);
+            if (memfd.isPresent()) {
+                return memfd.get();
+            }
+        }
+        Path dir = ofNullable(System.getProperty(SeekableSources.TEMP_DIR_PROPERTY)).map(Path::of)
+                .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir")));
+        Path temp = Files.createTempFile(dir, "SejdaIO", nameHint);
+        try {
+            return new TempFile(temp.toAbsolutePath().toString(),
+                    FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static Optional<TempFile> memfd(String nameHint) {
+        if (isNull(NativeFunctions.MEMFD_CREATE) || isNull(NativeFunctions.CLOSE)) {
+            return Optional.empty();
+        }
+        int fd;
+        try (Arena arena = Arena.ofConfined()) {
+            fd = (int) NativeFunctions.MEMFD_CREATE.invokeExact(arena.allocateFrom(nameHint), MFD_CLOEXEC);
+        } catch (Throwable e) {
+            LOG.debug("Unable to create a memfd", e);
+            return Optional.empty();
+        }
+        if (fd < 0) {
+            LOG.debug("memfd_create failed");
+            return Optional.empty();
+        }
+        try {
+            // reopening the descriptor from procfs gives a channel over the same anonymous file
+            return Optional.of(new TempFile("memfd:" + UUID.randomUUID() + "/" + nameHint,
+                    FileChannel.open(Path.of("/proc/self/fd/" + fd), StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to open the memfd", e);
+            return Optional.empty();
+        } finally {
+            close(fd);
+        }
+    }
+
+    private static void close(int fd) {
+        try {
+            int result = (int) NativeFunctions.CLOSE.invokeExact(fd);
+            if (result < 0) {
+                LOG.debug("Unable to close file descriptor {}", fd);
+            }
+        } catch (Throwable e) {
+            LOG.debug("Unable to close file descriptor {}", fd, e);
+        }
+    }
+
+    /**
+     * Downcall handles of the native functions, looked up on first use so that nothing is linked, and no native access warning is printed, unless memfd is enabled
+     */
+    private static final class NativeFunctions {
+        static final MethodHandle MEMFD_CREATE = linuxFunction("memfd_create",
+                FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_INT));
+        static final MethodHandle CLOSE = linuxFunction("close",
+                FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.JAVA_INT));
+
+        private static MethodHandle linuxFunction(String name, FunctionDescriptor descriptor) {
+            if (!System.getProperty("os.name", "").toLowerCase().startsWith("linux")) {
+                return null;
+            }
+            try {
+                Linker linker = Linker.nativeLinker();
+                return linker.defaultLookup().find(name).map(address -> linker.downcallHandle(address, descriptor))
+                        .orElse(null);
+            } catch (RuntimeException e) {
+                LOG.debug("Native function {} is not available", name, e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.IOException;
+
+/**
+ * Incremental parser for decimal numbers written as ASCII bytes (an optional sign followed by digits and, for reals, an optional decimal point). Bytes are fed one at a time and
+ * the value is accumulated in place, so no intermediate String is created. Instances are reusable but not thread safe.
+ *
+ * @author Andrea Vacondio
+ */
+final class AsciiNumberParser {
+
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private boolean real;
+    private boolean negative;
+    private boolean decimalPoint;
+    private boolean overflow;
+    private int length;
+    private int digits;
+    private int significantDigits;
+    private int exponent;
+    private long value;
+
+    AsciiNumberParser() {
+        reset(false);
+    }
+
+    /**
+     * Resets the parser so that a new number can be parsed
+     *
+     * @param real
+     *            true if the number to parse can have a decimal point
+     * @return this parser
+     */
+    AsciiNumberParser reset(boolean real) {
+        this.real = real;
+        this.negative = false;
+        this.decimalPoint = false;
+        this.overflow = false;
+        this.length = 0;
+        this.digits = 0;
+        this.significantDigits = 0;
+        this.exponent = 0;
+        this.value = 0;
+        return this;
+    }
+
+    /**
+     * Feeds the next byte to the parser
+     *
+     * @param b
+     *            the unsigned byte value
+     * @return true if the byte is part of the number, false if the byte terminates it and it should not be consumed
+     */
+    boolean accept(int b) {
+        if (b >= '0' && b <= '9') {
+            if (real) {
+                acceptRealDigit(b - '0');
+            } else {
+                acceptDigit(b - '0');
+            }
+            digits++;
+            length++;
+            return true;
+        }
+        if (length == 0 && (b == '-' || b == '+')) {
+            negative = b == '-';
+            length++;
+            return true;
+        }
+        if (real && !decimalPoint && b == '.') {
+            decimalPoint = true;
+            length++;
+            return true;
+        }
+        return false;
+    }
+
+    private void acceptDigit(int digit) {
+        // accumulates negatively, the same way Long.parseLong does, to be able to reach Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        if (overflow || value < limit / 10 || value * 10 < limit + digit) {
+            overflow = true;
+        } else {
+            value = value * 10 - digit;
+        }
+    }
+
+    private void acceptRealDigit(int digit) {
+        if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+            if (value != 0 || digit != 0) {
+                significantDigits++;
+            }
+            value = value * 10 + digit;
+            if (decimalPoint) {
+                exponent--;
+            }
+        } else if (!decimalPoint) {
+            exponent++;
+        }
+    }
+
+    /**
+     * @return the parsed integer
+     * @throws NumberFormatException
+     *             if no digit has been parsed or the number doesn't fit in a long
+     */
+    long longValue() {
+        requireDigits();
+        if (overflow) {
+            throw new NumberFormatException("ASCII integer out of the long range");
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * @return the parsed real number
+     * @throws NumberFormatException
+     *             if no digit has been parsed
+     */
+    double doubleValue() {
+        requireDigits();
+        double result;
+        if (exponent == 0) {
+            result = value;
+        } else if (value < MAX_EXACT_MANTISSA && Math.abs(exponent) < POWERS_OF_TEN.length) {
+            // both operands are exact so the result is correctly rounded
+            result = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+        } else {
+            // multiplying by an inexact power of ten can be off by an ulp or underflow early, the JDK parser rounds correctly
+            result = Double.parseDouble(value + "E" + exponent);
+        }
+        return negative ? -result : result;
+    }
+
+    private void requireDigits() {
+        if (digits == 0) {
+            throw new NumberFormatException("Expected an ASCII number");
+        }
+    }
+
+    /**
+     * Reads an ASCII integer from the given source using {@link SeekableSource#read()}
+     *
+     * @see SeekableSource#readAsciiLong()
+     */
+    static long readLong(SeekableSource source) throws IOException {
+        long start = source.position();
+        try {
+            return parse(source, new AsciiNumberParser().reset(false)).longValue();
+        } catch (NumberFormatException e) {
+            source.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads an ASCII real number from the given source using {@link SeekableSource#read()}
+     *
+     * @see SeekableSource#readAsciiDouble()
+     */
+    static double readDouble(SeekableSource source) throws IOException {
+        long start = source.position();
+        try {
+            return parse(source, new AsciiNumberParser().reset(true)).doubleValue();
+        } catch (NumberFormatException e) {
+            source.position(start);
+            throw e;
+        }
+    }
+
+    private static AsciiNumberParser parse(SeekableSource source, AsciiNumberParser parser) throws IOException {
+        int c = source.read();
+        while (c != -1 && parser.accept(c)) {
+            c = source.read();
+        }
+        if (c != -1) {
+            source.back();
+        }
+        return parser;
+    }
+}
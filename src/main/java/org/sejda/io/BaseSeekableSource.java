@@ -18,6 +18,7 @@ package org.sejda.io;
 import java.io.IOException;
 
 import static org.sejda.commons.util.RequireUtils.requireNotBlank;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 import static org.sejda.commons.util.RequireUtils.requireState;
 
 /**
@@ -27,17 +28,37 @@ import static org.sejda.commons.util.RequireUtils.requireState;
  */
 public abstract class BaseSeekableSource implements SeekableSource {
 
-    private boolean open = true;
+    private volatile boolean open = true;
     private final String id;
+    private final BaseSeekableSource parent;
 
     public BaseSeekableSource(String id) {
         requireNotBlank(id, "SeekableSource id cannot be blank");
         this.id = id;
+        this.parent = null;
+    }
+
+    /**
+     * Creates a cursor of the given parent source. The cursor has the same id of the parent and it's open as long as both the cursor and the parent are open.
+     *
+     * @see SeekableSource#cursor()
+     */
+    protected BaseSeekableSource(BaseSeekableSource parent) {
+        requireNotNullArg(parent, "Parent SeekableSource cannot be null");
+        this.id = parent.id();
+        this.parent = parent;
     }
 
     @Override
     public boolean isOpen() {
-        return open;
+        return open && (parent == null || parent.isOpen());
+    }
+
+    /**
+     * @return true if this source is a cursor sharing the underlying resources of a parent source. Cursors must not release the shared resources when closed.
+     */
+    protected boolean isCursor() {
+        return parent != null;
     }
 
     @Override
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Reads codes of 1 to 32 bits from a {@link SeekableSource}, most significant bit first (ex. CCITT fax, LZW, JBIG2 and image data) or least significant bit first (ex.
+ * deflate). Bits are served from a 64 bits register that is refilled a long at a time from a buffer filled with bulk reads of the source, so a code is read with a couple of
+ * shifts. The reader moves the source position when the buffer is filled, the position of the reader is {@link #bitPosition()}. Instances are not thread safe.
+ *
+ * @author Andrea Vacondio
+ */
+public final class BitReader {
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    /**
+     * Order of the bits within each byte
+     */
+    public enum Order {
+        /**
+         * The first bit is the most significant bit of the byte and codes are read with their most significant bit first
+         */
+        MSB_FIRST,
+        /**
+         * The first bit is the least significant bit of the byte and codes are read with their least significant bit first
+         */
+        LSB_FIRST
+    }
+
+    private final SeekableSource source;
+    private final boolean msbFirst;
+    private final ByteBuffer buffer;
+    /**
+     * Position of the source where the buffer content starts
+     */
+    private long bufferStart;
+    /**
+     * Bits not yet consumed, left aligned when reading the most significant bit first, right aligned otherwise. Bits outside the valid ones are always zero.
+     */
+    private long bits;
+    private int count;
+
+    /**
+     * Creates a reader starting at the current position of the source
+     */
+    public BitReader(SeekableSource source, Order order) throws IOException {
+        requireNotNullArg(source, "Source cannot be null");
+        requireNotNullArg(order, "Bits order cannot be null");
+        this.source = source;
+        this.msbFirst = order == Order.MSB_FIRST;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE)
+                .order(msbFirst ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        this.buffer.limit(0);
+        this.bufferStart = source.position();
+    }
+
+    /**
+     * Reads the next code
+     *
+     * @param count
+     *            number of bits of the code, between 1 and 32
+     * @return the code, a 32 bits code is returned as a possibly negative int
+     * @throws EOFException
+     *             if the source has less than count bits left
+     */
+    public int readBits(int count) throws IOException {
+        int code = peekBits(count);
+        if (this.count < count) {
+            throw new EOFException("Unable to read " + count + " bits at the end of the source");
+        }
+        consume(count);
+        return code;
+    }
+
+    /**
+     * @return true if the next bit is 1
+     * @throws EOFException
+     *             if there are no bits left
+     */
+    public boolean readBit() throws IOException {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * Returns the next code without consuming it, useful to look up prefix codes in a table. Bits past the end of the source are returned as zeros.
+     *
+     * @param count
+     *            number of bits of the code, between 1 and 32
+     */
+    public int peekBits(int count) throws IOException {
+        requireArg(count > 0 && count <= 32, "Bits count must be between 1 and 32");
+        if (this.count < count) {
+            refill();
+        }
+        if (msbFirst) {
+            return (int) (bits >>> (64 - count));
+        }
+        return (int) (bits & (-1L >>> (64 - count)));
+    }
+
+    /**
+     * Skips the given number of bits, skipping past the end of the source is allowed and following reads will fail
+     */
+    public void skipBits(long count) throws IOException {
+        requireArg(count >= 0, "Cannot skip a negative number of bits");
+        if (count <= this.count) {
+            consume((int) count);
+        } else {
+            bitPosition(bitPosition() + count);
+        }
+    }
+
+    /**
+     * Skips the remaining bits of the current byte, if any
+     */
+    public void alignToByte() {
+        consume(count & 7);
+    }
+
+    /**
+     * @return the position of the next bit to read, in bits from the start of the source
+     */
+    public long bitPosition() {
+        return ((bufferStart + buffer.position()) << 3) - count;
+    }
+
+    /**
+     * Moves the reader to the given bit position of the source. Moving past the end of the source is allowed and following reads will fail.
+     */
+    public BitReader bitPosition(long bitPosition) throws IOException {
+        requireArg(bitPosition >= 0, "Cannot set a negative bit position");
+        long bytePosition = bitPosition >>> 3;
+        if (bytePosition >= bufferStart && bytePosition <= bufferStart + buffer.limit()) {
+            buffer.position((int) (bytePosition - bufferStart));
+        } else {
+            bufferStart = bytePosition;
+            buffer.limit(0);
+        }
+        bits = 0;
+        count = 0;
+        int remainder = (int) (bitPosition & 7);
+        if (remainder > 0) {
+            refill();
+            consume(Math.min(remainder, count));
+        }
+        return this;
+    }
+
+    private void consume(int count) {
+        if (count == 0) {
+            return;
+        }
+        if (count == 64) {
+            bits = 0;
+        } else if (msbFirst) {
+            bits <<= count;
+        } else {
+            bits >>>= count;
+        }
+        this.count -= count;
+    }
+
+    /**
+     * Tops up the register with whole bytes, a long at a time when the buffer has at least eight bytes left
+     */
+    private void refill() throws IOException {
+        while (count <= 56) {
+            if (buffer.remaining() >= Long.BYTES) {
+                int take = (64 - count) >>> 3;
+                long word = buffer.getLong(buffer.position());
+                buffer.position(buffer.position() + take);
+                if (msbFirst) {
+                    bits |= word >>> count;
+                    count += take << 3;
+                    bits &= count == 64 ? -1L : ~(-1L >>> count);
+                } else {
+                    bits |= word << count;
+                    count += take << 3;
+                    bits &= count == 64 ? -1L : (1L << count) - 1;
+                }
+                return;
+            }
+            if (!buffer.hasRemaining() && !fill()) {
+                return;
+            }
+            long next = buffer.get() & 0xFF;
+            bits |= msbFirst ? next << (56 - count) : next << count;
+            count += 8;
+        }
+    }
+
+    /**
+     * Fills the buffer with the bytes following the current buffer content
+     *
+     * @return false if there are no bytes left
+     */
+    private boolean fill() throws IOException {
+        bufferStart += buffer.limit();
+        buffer.clear();
+        source.position(bufferStart);
+        while (buffer.hasRemaining() && source.read(buffer) > 0) {
+            // keep reading
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+}
@@ -18,7 +18,9 @@ package org.sejda.io;
 import org.sejda.commons.util.IOUtils;
 
 import java.io.IOException;
+import java.lang.ref.Cleaner;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import static org.sejda.commons.util.RequireUtils.requireArg;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
@@ -26,23 +28,61 @@ import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 /**
  * {@link SeekableSource} wrapping an existing one and providing buffered read. When a read method is called, a {@link SeekableSources#INPUT_BUFFER_SIZE_PROPERTY} long chunk of
  * bytes is read from the underlying source and stored in memory. Subsequent reads are served from the in memory buffer until they fall outside its range, at that point a new
- * buffer is read from the wrapped source.
+ * buffer is read from the wrapped source. A smaller buffer is used when the {@link MemoryBudget} is low. When reading sequentially, the
+ * {@link SeekableSourceOptions#readahead()} bytes following the buffer are hinted to the wrapped source as {@link SeekableSource#willNeed(List) needed}.
+ * <p>
+ * Views, cursors and offsettable sources created from a buffered source are buffered sources reading a window of a cursor of the wrapped source, so that a read goes through a
+ * single decorator and hot loops stay monomorphic.
+ * </p>
  *
  * @author Andrea Vacondio
  */
 public class BufferedSeekableSource implements SeekableSource {
 
-    private final ByteBuffer buffer = ByteBuffer.allocate(
-            Integer.getInteger(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY, 8192));
+    private static final int LOW_MEMORY_BUFFER_SIZE = 1024;
+
+    private final ByteBuffer buffer;
+    private final Cleaner.Cleanable reservation;
     private final SeekableSource wrapped;
+    private final SeekableSourceOptions options;
+    /**
+     * Where the last buffer filled ends and where the last readahead hint ends, relative to this source
+     */
+    private long filledEnd;
+    private long readaheadEnd;
+    private final AsciiNumberParser parser = new AsciiNumberParser();
     private long position;
-    private final long size;
+    /**
+     * Position of the wrapped source where this source starts
+     */
+    private long start;
+    private long size;
 
     public BufferedSeekableSource(SeekableSource wrapped) {
+        this(wrapped, SeekableSourceOptions.defaults());
+    }
+
+    public BufferedSeekableSource(SeekableSource wrapped, SeekableSourceOptions options) {
+        requireNotNullArg(wrapped, "Input decorated SeekableSource cannot be null");
+        this(wrapped, 0, wrapped.size(), options);
+    }
+
+    /**
+     * Creates a source buffering the given window of the wrapped source, the window length is trimmed to the wrapped source size
+     */
+    BufferedSeekableSource(SeekableSource wrapped, long start, long length, SeekableSourceOptions options) {
         requireNotNullArg(wrapped, "Input decorated SeekableSource cannot be null");
+        requireNotNullArg(options, "Options cannot be null");
+        requireArg(start >= 0 && start <= wrapped.size(), "Invalid start position outside of the wrapped source");
+        requireArg(length >= 0, "Length cannot be negative");
         this.wrapped = wrapped;
-        this.size = wrapped.size();
+        this.options = options;
+        this.start = start;
+        this.size = Math.min(length, wrapped.size() - start);
+        int bufferSize = MemoryBudget.global().affordable(options.inputBufferSize(), LOW_MEMORY_BUFFER_SIZE);
+        this.buffer = options.directBuffers() ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
         this.buffer.limit(0);
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.BUFFERS, buffer.capacity());
     }
 
     @Override
@@ -71,19 +111,36 @@ public class BufferedSeekableSource implements SeekableSource {
     @Override
     public SeekableSource position(long newPosition) throws IOException {
         requireArg(newPosition >= 0, "Cannot set position to a negative value");
+        newPosition = Math.min(newPosition, size);
         if (newPosition != this.position) {
             long newBufPosition = newPosition - position + buffer.position();
             if (newBufPosition >= 0 && newBufPosition < buffer.limit()) {
                 buffer.position((int) newBufPosition);
             } else {
+                // the wrapped source is positioned when the buffer is filled
                 buffer.limit(0);
-                wrapped.position(newPosition);
             }
-            this.position = Math.min(newPosition, size);
+            this.position = newPosition;
         }
         return this;
     }
 
+    /**
+     * Moves the window of the wrapped source this source reads, the position is moved to the given one relative to the new window
+     */
+    void window(long start, long size, long position) {
+        this.start = start;
+        this.size = size;
+        this.position = Math.min(position, size);
+        this.filledEnd = this.position;
+        this.readaheadEnd = 0;
+        buffer.limit(0);
+    }
+
+    long start() {
+        return start;
+    }
+
     @Override
     public long size() {
         return size;
@@ -94,18 +151,30 @@ public class BufferedSeekableSource implements SeekableSource {
         IOUtils.close(wrapped);
         buffer.clear();
         buffer.limit(0);
+        reservation.clean();
     }
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
         requireOpen();
         buffer.limit(0);
-        wrapped.position(position);
-        int read = wrapped.read(dst);
-        if (read > 0) {
-            position += read;
+        if (position >= size) {
+            return -1;
+        }
+        wrapped.position(start + position);
+        int limit = dst.limit();
+        if (dst.remaining() > size - position) {
+            dst.limit(dst.position() + (int) (size - position));
+        }
+        try {
+            int read = wrapped.read(dst);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        } finally {
+            dst.limit(limit);
         }
-        return read;
     }
 
     @Override
@@ -118,22 +187,126 @@ public class BufferedSeekableSource implements SeekableSource {
         return -1;
     }
 
+    /**
+     * Parses the number straight from the buffer
+     */
+    @Override
+    public long readAsciiLong() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parseBuffered(parser.reset(false)).longValue();
+        } catch (NumberFormatException e) {
+            position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the number straight from the buffer
+     */
+    @Override
+    public double readAsciiDouble() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parseBuffered(parser.reset(true)).doubleValue();
+        } catch (NumberFormatException e) {
+            position(start);
+            throw e;
+        }
+    }
+
+    private AsciiNumberParser parseBuffered(AsciiNumberParser parser) throws IOException {
+        while (ensureBuffer() > 0 && parser.accept(buffer.get(buffer.position()) & 0xff)) {
+            buffer.position(buffer.position() + 1);
+            position++;
+        }
+        return parser;
+    }
+
     private int ensureBuffer() throws IOException {
         if (!buffer.hasRemaining()) {
             buffer.clear();
-            wrapped.read(buffer);
+            if (size - position < buffer.capacity()) {
+                buffer.limit((int) Math.max(0, size - position));
+            }
+            if (buffer.hasRemaining()) {
+                wrapped.position(start + position);
+                wrapped.read(buffer);
+            }
             buffer.flip();
+            readahead(position + buffer.limit());
         }
         return buffer.remaining();
     }
 
+    /**
+     * Hints the readahead bytes following the buffer when the buffer is filled where the previous one ended and the last hinted range is half consumed
+     */
+    private void readahead(long end) throws IOException {
+        long readahead = options.readahead();
+        if (readahead > 0 && position == filledEnd && end < size && end > readaheadEnd - readahead / 2) {
+            long from = Math.max(end, readaheadEnd);
+            long length = Math.min(readahead, size - from);
+            if (length > 0) {
+                wrapped.willNeed(List.of(new ByteRange(start + from, length)));
+                readaheadEnd = from + length;
+            }
+        }
+        filledEnd = end;
+    }
+
     protected SeekableSource wrapped() {
         return wrapped;
     }
 
+    SeekableSourceOptions options() {
+        return options;
+    }
+
+    /**
+     * The view is a buffered source over a cursor of the wrapped source, or over a view of the wrapped source if it doesn't support cursors
+     */
     @Override
     public SeekableSource view(long startingPosition, long length) throws IOException {
         requireOpen();
-        return new BufferedSeekableSource(wrapped.view(startingPosition, length));
+        requireArg(startingPosition >= 0, "Starting position cannot be negative");
+        requireArg(length > 0, "View length must be positive");
+        requireArg(startingPosition < size, "Starting position cannot be higher then wrapped source size");
+        long viewLength = Math.min(length, size - startingPosition);
+        if (wrapped.supportsCursors()) {
+            return new BufferedSeekableSource(wrapped.cursor(), start + startingPosition, viewLength, options);
+        }
+        return new BufferedSeekableSource(wrapped.view(start + startingPosition, viewLength), options);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return wrapped.supportsCursors();
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new BufferedSeekableSource(wrapped.cursor(), start, size, options);
+    }
+
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        return wrapped.slice(start + position, SeekableSourceSlice.length(this, position, length));
+    }
+
+    @Override
+    public void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+        wrapped.willNeed(ranges.stream().map(r -> r.translate(start, size)).toList());
+    }
+
+    @Override
+    public void dontNeed(ByteRange range) throws IOException {
+        requireOpen();
+        wrapped.dontNeed(range.translate(start, size));
     }
 }
@@ -15,7 +15,10 @@
  */
 package org.sejda.io;
 
+import org.sejda.commons.util.IOUtils;
+
 import java.io.IOException;
+import java.lang.ref.Cleaner;
 import java.nio.ByteBuffer;
 import java.util.UUID;
 
@@ -23,18 +26,29 @@ import static org.sejda.commons.util.RequireUtils.requireArg;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
 /**
- * A byte array based {@link SeekableSource} with a max size of 2GB.
+ * A byte array based {@link SeekableSource} with a max size of 2GB. The array is accounted in the {@link MemoryBudget} until the source is closed.
  *
  * @author Andrea Vacondio
  */
 public class ByteArraySeekableSource extends BaseSeekableSource {
+    private final AsciiNumberParser parser = new AsciiNumberParser();
     private byte[] bytes;
+    private final Cleaner.Cleanable reservation;
     private long position;
+    private final ThreadBoundCopiesSupplier<ByteArraySeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> new ByteArraySeekableSource(this));
 
     public ByteArraySeekableSource(byte[] bytes) {
         requireNotNullArg(bytes, "Input byte array cannot be null");
         super(UUID.nameUUIDFromBytes(bytes).toString());
         this.bytes = bytes;
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.IN_MEMORY, bytes.length);
+    }
+
+    private ByteArraySeekableSource(ByteArraySeekableSource parent) {
+        super(parent);
+        this.bytes = parent.bytes;
+        this.reservation = null;
     }
 
     @Override
@@ -75,16 +89,69 @@ public class ByteArraySeekableSource extends BaseSeekableSource {
         return -1;
     }
 
+    @Override
+    public long readAsciiLong() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parse(parser.reset(false)).longValue();
+        } catch (NumberFormatException e) {
+            position = start;
+            throw e;
+        }
+    }
+
+    @Override
+    public double readAsciiDouble() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parse(parser.reset(true)).doubleValue();
+        } catch (NumberFormatException e) {
+            position = start;
+            throw e;
+        }
+    }
+
+    private AsciiNumberParser parse(AsciiNumberParser parser) {
+        while (position < bytes.length && parser.accept(bytes[(int) position] & 0xff)) {
+            position++;
+        }
+        return parser;
+    }
+
     @Override
     public void close() throws IOException {
         super.close();
+        IOUtils.close(localCopiesSupplier);
+        if (!isCursor()) {
+            reservation.clean();
+        }
         this.bytes = new byte[0];
     }
 
     @Override
     public SeekableSource view(long startingPosition, long length) throws IOException {
         requireOpen();
-        return new SeekableSourceView(() -> new ByteArraySeekableSource(bytes), id(), startingPosition, length);
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new ByteArraySeekableSource(this);
+    }
+
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        int sliceLength = SeekableSourceSlice.length(this, position, length);
+        return SeekableSourceSlice.of(ByteBuffer.wrap(bytes, (int) Math.min(position, size()), sliceLength));
     }
 
 }
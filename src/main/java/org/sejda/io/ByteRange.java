@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * A range of bytes of a {@link SeekableSource}
+ *
+ * @param position
+ *            a non-negative position where the range starts
+ * @param length
+ *            a non-negative number of bytes
+ * @author Andrea Vacondio
+ */
+public record ByteRange(long position, long length) {
+
+    public ByteRange {
+        requireArg(position >= 0, "Range position cannot be negative");
+        requireArg(length >= 0, "Range length cannot be negative");
+    }
+
+    /**
+     * @return the position right after the last byte of the range, {@link Long#MAX_VALUE} if it doesn't fit in a long
+     */
+    public long end() {
+        long end = position + length;
+        if (end < 0) {
+            return Long.MAX_VALUE;
+        }
+        return end;
+    }
+
+    /**
+     * @return this range trimmed to the given size and moved forward by the given offset
+     */
+    ByteRange translate(long offset, long size) {
+        long from = Math.min(position, size);
+        return new ByteRange(from + offset, Math.min(length, size - from));
+    }
+}
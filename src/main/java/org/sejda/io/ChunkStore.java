@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * In-memory storage that deduplicates the content of the sources it creates. Content is split in chunks at content defined boundaries, found with a gear rolling hash, so that
+ * an insertion or a deletion only changes the chunks around it and identical or incrementally updated files share most of their chunks. Each unique chunk is stored once,
+ * keyed by its SHA-256 digest, and reference counted by the sources using it. A chunk is dropped when the last source using it is closed. Unique chunks are accounted in the
+ * {@link MemoryBudget}.
+ *
+ * @author Andrea Vacondio
+ */
+public final class ChunkStore {
+    static final int MIN_CHUNK_SIZE = 1 << 11;
+    static final int MAX_CHUNK_SIZE = 1 << 16;
+    /**
+     * 13 bits mask giving an average chunk size of 8KB past the minimum. The gear hash shifts left, so its low bits only depend on the last few bytes while the high bits
+     * depend on the last 64 bytes, the mask is on the high bits as in FastCDC.
+     */
+    private static final long BOUNDARY_MASK = ((1L << 13) - 1) << (Long.SIZE - 13);
+    private static final long[] GEAR = new SplittableRandom(0x5e3da10L).longs(256).toArray();
+
+    private final ConcurrentMap<Key, Chunk> chunks = new ConcurrentHashMap<>();
+
+    /**
+     * @return a source with the content of the given stream, whose chunks are shared with the other sources of this store
+     */
+    public ChunkedSeekableSource add(InputStream stream) throws IOException {
+        requireNotNullArg(stream, "Input stream cannot be null");
+        List<Chunk> result = new ArrayList<>();
+        try {
+            byte[] buffer = new byte[MAX_CHUNK_SIZE];
+            int filled = 0;
+            while (true) {
+                filled += stream.readNBytes(buffer, filled, MAX_CHUNK_SIZE - filled);
+                if (filled == 0) {
+                    break;
+                }
+                int cut = cutPoint(buffer, filled);
+                result.add(acquire(Arrays.copyOf(buffer, cut)));
+                System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+                filled -= cut;
+            }
+        } catch (IOException | RuntimeException e) {
+            result.forEach(this::release);
+            throw e;
+        }
+        return new ChunkedSeekableSource(this, result.toArray(new Chunk[0]));
+    }
+
+    /**
+     * @return a source with the given content, whose chunks are shared with the other sources of this store
+     */
+    public ChunkedSeekableSource add(byte[] bytes) throws IOException {
+        requireNotNullArg(bytes, "Input byte array cannot be null");
+        return add(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * @return the number of unique chunks held by the store
+     */
+    public int chunks() {
+        return chunks.size();
+    }
+
+    /**
+     * @return the number of bytes of the unique chunks held by the store
+     */
+    public long storedBytes() {
+        return chunks.values().stream().mapToLong(c -> c.bytes.length).sum();
+    }
+
+    /**
+     * @return the length of the chunk starting at the beginning of the buffer. The buffer is full unless the end of the stream has been reached.
+     */
+    static int cutPoint(byte[] buffer, int length) {
+        if (length <= MIN_CHUNK_SIZE) {
+            return length;
+        }
+        long hash = 0;
+        for (int i = MIN_CHUNK_SIZE; i < length; i++) {
+            hash = (hash << 1) + GEAR[buffer[i] & 0xff];
+            if ((hash & BOUNDARY_MASK) == 0) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    private Chunk acquire(byte[] bytes) {
+        Key key = new Key(digest(bytes));
+        Chunk chunk = chunks.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return new Chunk(key, bytes);
+            }
+            existing.references++;
+            return existing;
+        });
+        if (!Arrays.equals(chunk.bytes, bytes)) {
+            // digest collision, the chunk is not shared
+            release(chunk);
+            return new Chunk(null, bytes);
+        }
+        return chunk;
+    }
+
+    void release(Chunk chunk) {
+        if (chunk.key != null) {
+            chunks.computeIfPresent(chunk.key, (k, existing) -> {
+                if (--existing.references == 0) {
+                    existing.reservation.clean();
+                    return null;
+                }
+                return existing;
+            });
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Key {
+        private final byte[] digest;
+        private final int hash;
+
+        private Key(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && hash == other.hash && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A unique chunk of content, its reference count is only accessed through the store map compute methods
+     */
+    static final class Chunk {
+        private final Key key;
+        final byte[] bytes;
+        private final Cleaner.Cleanable reservation;
+        private int references = 1;
+
+        private Chunk(Key key, byte[] bytes) {
+            this.key = key;
+            this.bytes = bytes;
+            // shared chunks are accounted until released by all their sources or until the store and its sources are gone
+            this.reservation = key != null ? MemoryBudget.global().reserve(this, MemoryBudget.Category.IN_MEMORY, bytes.length) : null;
+        }
+    }
+}
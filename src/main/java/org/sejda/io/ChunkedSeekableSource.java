@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * An in-memory {@link SeekableSource} whose content is made of chunks of a {@link ChunkStore}, shared with the other sources of the store having the same content. The chunk
+ * holding a position is found with a binary search on the chunks offsets. Closing the source releases its chunks.
+ *
+ * @author Andrea Vacondio
+ * @see ChunkStore
+ */
+public class ChunkedSeekableSource extends BaseSeekableSource {
+    private final ChunkStore store;
+    private final ChunkStore.Chunk[] chunks;
+    /**
+     * Offset of the first byte of each chunk
+     */
+    private final long[] offsets;
+    private final long size;
+    private long position;
+    private int current;
+    private final ThreadBoundCopiesSupplier<ChunkedSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> new ChunkedSeekableSource(this));
+
+    ChunkedSeekableSource(ChunkStore store, ChunkStore.Chunk[] chunks) {
+        super(UUID.randomUUID().toString());
+        this.store = store;
+        this.chunks = chunks;
+        this.offsets = new long[chunks.length];
+        long offset = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            offsets[i] = offset;
+            offset += chunks[i].bytes.length;
+        }
+        this.size = offset;
+    }
+
+    private ChunkedSeekableSource(ChunkedSeekableSource parent) {
+        super(parent);
+        this.store = parent.store;
+        this.chunks = parent.chunks;
+        this.offsets = parent.offsets;
+        this.size = parent.size;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size) {
+            byte[] chunk = chunks[locate(position)].bytes;
+            int offset = (int) (position - offsets[current]);
+            int toCopy = Math.min(dst.remaining(), chunk.length - offset);
+            dst.put(chunk, offset, toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size) {
+            int index = locate(position);
+            return chunks[index].bytes[(int) (position++ - offsets[index])] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the chunk holding the given position, it becomes the current chunk
+     */
+    private int locate(long position) {
+        if (position >= offsets[current] && position - offsets[current] < chunks[current].bytes.length) {
+            return current;
+        }
+        int index = Arrays.binarySearch(offsets, position);
+        current = index >= 0 ? index : -index - 2;
+        return current;
+    }
+
+    /**
+     * A zero-copy slice is returned when the requested bytes belong to a single chunk, otherwise the bytes are copied.
+     */
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        int sliceLength = SeekableSourceSlice.length(this, position, length);
+        if (sliceLength > 0) {
+            int index = locate(position);
+            int offset = (int) (position - offsets[index]);
+            if (offset + sliceLength <= chunks[index].bytes.length) {
+                return SeekableSourceSlice.of(ByteBuffer.wrap(chunks[index].bytes, offset, sliceLength));
+            }
+        }
+        return SeekableSourceSlice.copyOf(this, position, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isCursor() && isOpen()) {
+            for (ChunkStore.Chunk chunk : chunks) {
+                store.release(chunk);
+            }
+        }
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new ChunkedSeekableSource(this);
+    }
+}
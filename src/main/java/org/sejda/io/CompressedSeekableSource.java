@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * An in-memory {@link SeekableSource} storing its content as independently compressed blocks of 64KB, to keep many documents resident using less memory than a
+ * {@link ByteArraySeekableSource}. Blocks are compressed with a {@link Deflater} at {@link Deflater#BEST_SPEED} and blocks that don't shrink are stored as they are. The block
+ * containing a position is found with a shift and decompressed on access into a cache of two blocks that every cursor, view and thread bound copy owns. The compressed
+ * content is accounted in the {@link MemoryBudget} until the source is closed.
+ *
+ * @author Andrea Vacondio
+ */
+public class CompressedSeekableSource extends BaseSeekableSource {
+    private static final int BLOCK_SHIFT = 16;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private final byte[][] blocks;
+    private final long size;
+    private final long compressedSize;
+    private final Cleaner.Cleanable reservation;
+    private long position;
+    private Inflater inflater;
+    private final int[] cachedBlocks = { -1, -1 };
+    private final byte[][] cache = new byte[2][];
+    private int current;
+    private final ThreadBoundCopiesSupplier<CompressedSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> new CompressedSeekableSource(this));
+
+    public CompressedSeekableSource(byte[] bytes) {
+        requireNotNullArg(bytes, "Input byte array cannot be null");
+        super(UUID.nameUUIDFromBytes(bytes).toString());
+        this.size = bytes.length;
+        this.blocks = new byte[(int) ((size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT)][];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (int i = 0; i < blocks.length; i++) {
+                int offset = i << BLOCK_SHIFT;
+                blocks[i] = compress(deflater, bytes, offset, Math.min(BLOCK_SIZE, bytes.length - offset));
+            }
+        } finally {
+            deflater.end();
+        }
+        this.compressedSize = compressedSize(blocks);
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.IN_MEMORY, compressedSize);
+    }
+
+    /**
+     * Creates a source from the content of the given stream, compressing it while it's read so that the whole uncompressed content is never held in memory
+     */
+    public CompressedSeekableSource(InputStream stream) throws IOException {
+        requireNotNullArg(stream, "Input stream cannot be null");
+        super(UUID.randomUUID().toString());
+        List<byte[]> compressed = new ArrayList<>();
+        long read = 0;
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            byte[] block = new byte[BLOCK_SIZE];
+            int length;
+            while ((length = stream.readNBytes(block, 0, BLOCK_SIZE)) > 0) {
+                compressed.add(compress(deflater, block, 0, length));
+                read += length;
+            }
+        } finally {
+            deflater.end();
+        }
+        this.size = read;
+        this.blocks = compressed.toArray(new byte[0][]);
+        this.compressedSize = compressedSize(blocks);
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.IN_MEMORY, compressedSize);
+    }
+
+    private CompressedSeekableSource(CompressedSeekableSource parent) {
+        super(parent);
+        this.blocks = parent.blocks;
+        this.size = parent.size;
+        this.compressedSize = parent.compressedSize;
+        this.reservation = null;
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] bytes, int offset, int length) {
+        deflater.reset();
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+        byte[] out = new byte[length];
+        int compressed = deflater.deflate(out);
+        if (deflater.finished() && compressed < length) {
+            return Arrays.copyOf(out, compressed);
+        }
+        // incompressible, stored as is
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    private static long compressedSize(byte[][] blocks) {
+        long total = 0;
+        for (byte[] block : blocks) {
+            total += block.length;
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of bytes used to store the compressed content
+     */
+    public long compressedSize() {
+        return compressedSize;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size) {
+            byte[] block = block((int) (position >>> BLOCK_SHIFT));
+            int offset = (int) (position & (BLOCK_SIZE - 1));
+            int toCopy = Math.min(dst.remaining(), block.length - offset);
+            dst.put(block, offset, toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size) {
+            byte[] block = block((int) (position >>> BLOCK_SHIFT));
+            return block[(int) (position++ & (BLOCK_SIZE - 1))] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the uncompressed content of the block with the given index, from the cache if possible
+     */
+    private byte[] block(int index) throws IOException {
+        if (cachedBlocks[current] == index) {
+            return cache[current];
+        }
+        int other = current ^ 1;
+        if (cachedBlocks[other] != index) {
+            // stored blocks are cached as they are and must not be reused as decompression buffers
+            byte[] reusable = cachedBlocks[other] >= 0 && cache[other] != blocks[cachedBlocks[other]] ?
+                    cache[other] :
+                    null;
+            cache[other] = decompress(index, reusable);
+            cachedBlocks[other] = index;
+        }
+        current = other;
+        return cache[current];
+    }
+
+    private byte[] decompress(int index, byte[] reuse) throws IOException {
+        int length = (int) Math.min(BLOCK_SIZE, size - ((long) index << BLOCK_SHIFT));
+        byte[] compressed = blocks[index];
+        if (compressed.length == length) {
+            return compressed;
+        }
+        byte[] out = (reuse != null && reuse.length == length) ? reuse : new byte[length];
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(out, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length) {
+                throw new IOException("Corrupted compressed block " + index);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted compressed block " + index, e);
+        }
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isCursor()) {
+            reservation.clean();
+        }
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        Arrays.fill(cache, null);
+        Arrays.fill(cachedBlocks, -1);
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new CompressedSeekableSource(this);
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} decoding on the fly a wrapped source holding Base64 or hex encoded content, so that a large encoded payload can be read at random positions
+ * without decoding it all in memory. Both encodings have a fixed ratio, the decoded content is split in blocks of 48KB and the encoded position where each block starts is
+ * recorded when the source is created, with a single pass over the encoded content that validates it and accounts for whitespace runs. A position is then mapped to its
+ * block with a division and the block is decoded on access, Base64 with the intrinsic JDK {@link Base64.Decoder}, into a cache that every cursor, view and thread bound copy
+ * owns. Cursors and views of this source read cursors of the wrapped source, so they are only supported if the wrapped source supports cursors. The wrapped source is closed
+ * when this source is closed.
+ *
+ * @author Andrea Vacondio
+ */
+public class DecodingSeekableSource extends BaseSeekableSource {
+    private static final int BLOCK_SIZE = 3 << 14;
+    private static final int SCAN_SIZE = 1 << 16;
+    private static final byte SIGNIFICANT = 0;
+    private static final byte PADDING = 1;
+    private static final byte WHITESPACE = 2;
+    private static final byte INVALID = 3;
+
+    /**
+     * Encoding of the wrapped content. Whitespace between the encoded characters is ignored.
+     */
+    public enum Encoding {
+        /**
+         * Base64 with the basic alphabet and optional padding
+         */
+        BASE64(4, 3, "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"),
+        /**
+         * Hexadecimal digits in upper or lower case, an odd number of digits is decoded as if it was followed by a 0
+         */
+        HEX(2, 1, "0123456789ABCDEFabcdef");
+
+        private final int encodedUnit;
+        private final int decodedUnit;
+        private final byte[] classes = new byte[256];
+
+        Encoding(int encodedUnit, int decodedUnit, String alphabet) {
+            this.encodedUnit = encodedUnit;
+            this.decodedUnit = decodedUnit;
+            Arrays.fill(classes, INVALID);
+            for (char c : " \t\r\n\f\0".toCharArray()) {
+                classes[c] = WHITESPACE;
+            }
+            for (char c : alphabet.toCharArray()) {
+                classes[c] = SIGNIFICANT;
+            }
+            if (encodedUnit == 4) {
+                classes['='] = PADDING;
+            }
+        }
+
+        /**
+         * @return the number of decoded bytes for the given number of significant encoded characters
+         */
+        long decodedSize(long characters) throws IOException {
+            if (this == HEX) {
+                return (characters + 1) / 2;
+            }
+            if (characters % 4 == 1) {
+                throw new IOException("Invalid Base64 content length");
+            }
+            return (characters / 4) * 3 + Math.max(0, (characters % 4) - 1);
+        }
+    }
+
+    private static final byte[] HEX_VALUES = new byte[256];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[Character.forDigit(i, 16)] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(Character.forDigit(i, 16))] = (byte) i;
+        }
+    }
+
+    private final SeekableSource wrapped;
+    private final Encoding encoding;
+    /**
+     * Encoded position where each decoded block starts, followed by the size of the wrapped source
+     */
+    private final long[] checkpoints;
+    private final long size;
+    private long position;
+    private int cachedBlock = -1;
+    private byte[] block;
+    private int blockLength;
+    private byte[] encoded;
+    private final ThreadBoundCopiesSupplier<DecodingSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> {
+                try {
+                    return new DecodingSeekableSource(this);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+    /**
+     * Creates a source decoding the whole content of the given source, that is scanned once to validate it and index it
+     *
+     * @throws IOException
+     *             if the wrapped source content is not valid for the given encoding
+     */
+    public DecodingSeekableSource(SeekableSource wrapped, Encoding encoding) throws IOException {
+        requireNotNullArg(wrapped, "Input decorated SeekableSource cannot be null");
+        requireNotNullArg(encoding, "Encoding cannot be null");
+        super(wrapped.id());
+        wrapped.requireOpen();
+        this.wrapped = wrapped;
+        this.encoding = encoding;
+        long blockCharacters = (long) BLOCK_SIZE / encoding.decodedUnit * encoding.encodedUnit;
+        long[] checkpoints = new long[16];
+        int blocks = 0;
+        long characters = 0;
+        boolean padded = false;
+        for (long offset = 0; offset < wrapped.size(); offset += SCAN_SIZE) {
+            try (SeekableSourceSlice slice = wrapped.slice(offset, SCAN_SIZE)) {
+                ByteBuffer bytes = slice.asByteBuffer();
+                for (int i = 0; i < bytes.limit(); i++) {
+                    byte type = encoding.classes[bytes.get(i) & 0xFF];
+                    if (type == SIGNIFICANT && !padded) {
+                        if (characters % blockCharacters == 0) {
+                            if (blocks == checkpoints.length) {
+                                checkpoints = Arrays.copyOf(checkpoints, blocks * 2);
+                            }
+                            checkpoints[blocks++] = offset + i;
+                        }
+                        characters++;
+                    } else if (type == PADDING) {
+                        padded = true;
+                    } else if (type != WHITESPACE) {
+                        throw new IOException("Invalid " + encoding + " content at position " + (offset + i));
+                    }
+                }
+            }
+        }
+        this.checkpoints = Arrays.copyOf(checkpoints, blocks + 1);
+        this.checkpoints[blocks] = wrapped.size();
+        this.size = encoding.decodedSize(characters);
+    }
+
+    private DecodingSeekableSource(DecodingSeekableSource parent) throws IOException {
+        super(parent);
+        this.wrapped = parent.wrapped.cursor();
+        this.encoding = parent.encoding;
+        this.checkpoints = parent.checkpoints;
+        this.size = parent.size;
+    }
+
+    /**
+     * @return the encoding of the wrapped content
+     */
+    public Encoding encoding() {
+        return encoding;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return super.isOpen() && wrapped.isOpen();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size) {
+            block((int) (position / BLOCK_SIZE));
+            int offset = (int) (position % BLOCK_SIZE);
+            int toCopy = Math.min(dst.remaining(), blockLength - offset);
+            dst.put(block, offset, toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size) {
+            block((int) (position / BLOCK_SIZE));
+            return block[(int) (position++ % BLOCK_SIZE)] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the block with the given index in the cache, unless it's already there
+     */
+    private void block(int index) throws IOException {
+        if (cachedBlock == index) {
+            return;
+        }
+        cachedBlock = -1;
+        long from = checkpoints[index];
+        int length = (int) (checkpoints[index + 1] - from);
+        if (encoded == null || encoded.length != length) {
+            encoded = new byte[length];
+        }
+        try (SeekableSourceSlice slice = wrapped.slice(from, length)) {
+            MemorySegment.copy(slice.asSegment(), ValueLayout.JAVA_BYTE, 0, encoded, 0, length);
+        }
+        if (block == null) {
+            block = new byte[BLOCK_SIZE];
+        }
+        int expected = (int) Math.min(BLOCK_SIZE, size - (long) index * BLOCK_SIZE);
+        try {
+            blockLength = encoding == Encoding.BASE64 ?
+                    Base64.getMimeDecoder().decode(encoded, block) :
+                    decodeHex(encoded, block, expected);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid " + encoding + " content in block " + index, e);
+        }
+        if (blockLength != expected) {
+            throw new IOException("Invalid " + encoding + " content in block " + index);
+        }
+        cachedBlock = index;
+    }
+
+    private static int decodeHex(byte[] encoded, byte[] decoded, int length) {
+        int written = 0;
+        int high = -1;
+        for (int i = 0; i < encoded.length && written < length; i++) {
+            int value = HEX_VALUES[encoded[i] & 0xFF];
+            if (value >= 0) {
+                if (high < 0) {
+                    high = value;
+                } else {
+                    decoded[written++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            }
+        }
+        if (high >= 0 && written < length) {
+            decoded[written++] = (byte) (high << 4);
+        }
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        IOUtils.close(wrapped);
+        block = null;
+        encoded = null;
+        cachedBlock = -1;
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             if the wrapped source doesn't support cursors, views read cursors of the wrapped source
+     */
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        if (!wrapped.supportsCursors()) {
+            throw new UnsupportedOperationException(
+                    "Views are not supported by " + getClass().getSimpleName() + " over a source without cursors");
+        }
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return wrapped.supportsCursors();
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new DecodingSeekableSource(this);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.util.Arrays;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} decrypting on the fly a wrapped source encrypted with AES in CTR mode, so that encrypted content can be read at random positions without
+ * decrypting it to memory or to a temporary file. The keystream of any position is computed incrementing the initial counter block by the index of the 16 bytes block
+ * containing the position, while sequential reads keep using the same cipher. Content is decrypted in 64KB chunks with bulk {@link Cipher#update(byte[], int, int, byte[], int)}
+ * calls that use the AES intrinsics where available. The decrypted buffer is zeroed when the source is closed. Cursors and views of this source read cursors of the wrapped
+ * source, so they are only supported if the wrapped source supports cursors. The wrapped source is closed when this source is closed.
+ *
+ * @author Andrea Vacondio
+ */
+public class DecryptingSeekableSource extends BaseSeekableSource {
+    private static final String TRANSFORMATION = "AES/CTR/NoPadding";
+    private static final int BLOCK_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final SeekableSource wrapped;
+    private final SecretKey key;
+    private final byte[] iv;
+    private final Cipher cipher;
+    /**
+     * Position of the next byte the cipher decrypts, -1 if the cipher must be initialized
+     */
+    private long cipherPosition = -1;
+    private final byte[] encrypted = new byte[BUFFER_SIZE];
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private long bufferStart;
+    private int bufferLength;
+    private long position;
+    private final ThreadBoundCopiesSupplier<DecryptingSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> {
+                try {
+                    return new DecryptingSeekableSource(this);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+    /**
+     * @param key
+     *            the AES key
+     * @param iv
+     *            the 16 bytes initial counter block used to encrypt the first byte of the wrapped source
+     */
+    public DecryptingSeekableSource(SeekableSource wrapped, SecretKey key, byte[] iv) {
+        requireNotNullArg(wrapped, "Input decorated SeekableSource cannot be null");
+        requireNotNullArg(key, "Key cannot be null");
+        requireNotNullArg(iv, "Initial counter block cannot be null");
+        super(wrapped.id());
+        requireArg(iv.length == BLOCK_SIZE, "Initial counter block must be 16 bytes long");
+        this.wrapped = wrapped;
+        this.key = key;
+        this.iv = iv.clone();
+        this.cipher = cipher();
+        init(0);
+    }
+
+    private DecryptingSeekableSource(DecryptingSeekableSource parent) throws IOException {
+        super(parent);
+        this.wrapped = parent.wrapped.cursor();
+        this.key = parent.key;
+        this.iv = parent.iv;
+        this.cipher = cipher();
+    }
+
+    private static Cipher cipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create an " + TRANSFORMATION + " cipher", e);
+        }
+    }
+
+    /**
+     * Initializes the cipher to decrypt from the given position, the counter block is the initial one plus the index of the block containing the position
+     */
+    private void init(long position) {
+        ByteBuffer counter = ByteBuffer.wrap(iv.clone());
+        long high = counter.getLong(0);
+        long low = counter.getLong(Long.BYTES);
+        long incremented = low + position / BLOCK_SIZE;
+        if (Long.compareUnsigned(incremented, low) < 0) {
+            high++;
+        }
+        counter.putLong(0, high).putLong(Long.BYTES, incremented);
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(counter.array()));
+            // discards the keystream preceding the position in its block
+            cipher.update(new byte[(int) (position % BLOCK_SIZE)]);
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException("Invalid AES key", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize the " + TRANSFORMATION + " cipher", e);
+        }
+        cipherPosition = position;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return super.isOpen() && wrapped.isOpen();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size());
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return wrapped.size();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size()) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size() && fill()) {
+            int offset = (int) (position - bufferStart);
+            int toCopy = Math.min(dst.remaining(), bufferLength - offset);
+            dst.put(buffer, offset, toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size() && fill()) {
+            return buffer[(int) (position++ - bufferStart)] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * Makes sure the buffer contains the current position, decrypting the following chunk of the wrapped source
+     *
+     * @return false if the wrapped source has no bytes at the current position
+     */
+    private boolean fill() throws IOException {
+        if (position >= bufferStart && position < bufferStart + bufferLength) {
+            return true;
+        }
+        if (cipherPosition != position) {
+            init(position);
+        }
+        wrapped.position(position);
+        int length = 0;
+        int read;
+        while (length < BUFFER_SIZE && (read = wrapped.read(ByteBuffer.wrap(encrypted, length,
+                BUFFER_SIZE - length))) > 0) {
+            length += read;
+        }
+        try {
+            bufferLength = cipher.update(encrypted, 0, length, buffer, 0);
+        } catch (ShortBufferException e) {
+            throw new IOException("Unable to decrypt", e);
+        }
+        bufferStart = position;
+        cipherPosition = position + bufferLength;
+        return bufferLength > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        IOUtils.close(wrapped);
+        Arrays.fill(buffer, (byte) 0);
+        bufferLength = 0;
+        cipherPosition = -1;
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             if the wrapped source doesn't support cursors, views read cursors of the wrapped source
+     */
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        if (!wrapped.supportsCursors()) {
+            throw new UnsupportedOperationException(
+                    "Views are not supported by " + getClass().getSimpleName() + " over a source without cursors");
+        }
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return wrapped.supportsCursors();
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new DecryptingSeekableSource(this);
+    }
+}
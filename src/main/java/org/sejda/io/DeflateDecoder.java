@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decoder of raw deflate data (RFC 1951) read with a {@link BitReader}. Unlike {@link java.util.zip.Inflater}, decoding can be resumed at any block boundary given the
+ * bit position of the block and the 32KB of output preceding it, that is what makes random access to deflated content possible. Instances are not thread safe.
+ *
+ * @author Andrea Vacondio
+ */
+final class DeflateDecoder {
+    static final int WINDOW_SIZE = 1 << 15;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    private static final int[] LENGTH_BASE = { 3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59,
+            67, 83, 99, 115, 131, 163, 195, 227, 258 };
+    private static final int[] LENGTH_EXTRA = { 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4,
+            5, 5, 5, 5, 0 };
+    private static final int[] DISTANCE_BASE = { 1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385,
+            513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577 };
+    private static final int[] DISTANCE_EXTRA = { 0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10,
+            10, 11, 11, 12, 12, 13, 13 };
+    private static final int[] CODE_LENGTHS_ORDER = { 16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1,
+            15 };
+    private static final HuffmanTable FIXED_LITERALS;
+    private static final HuffmanTable FIXED_DISTANCES;
+
+    static {
+        int[] literals = new int[288];
+        Arrays.fill(literals, 0, 144, 8);
+        Arrays.fill(literals, 144, 256, 9);
+        Arrays.fill(literals, 256, 280, 7);
+        Arrays.fill(literals, 280, 288, 8);
+        int[] distances = new int[30];
+        Arrays.fill(distances, 5);
+        try {
+            FIXED_LITERALS = new HuffmanTable(literals);
+            FIXED_DISTANCES = new HuffmanTable(distances);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private enum State {
+        HEADER, STORED, HUFFMAN, DONE
+    }
+
+    private final BitReader bits;
+    /**
+     * Circular buffer with the last 32KB of output, back references are copied from here
+     */
+    private final byte[] window = new byte[WINDOW_SIZE];
+    private long total;
+    private State state = State.HEADER;
+    private boolean last;
+    private int storedRemaining;
+    private HuffmanTable literals;
+    private HuffmanTable distances;
+    private int copyLength;
+    private int copyDistance;
+
+    DeflateDecoder(BitReader bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Prepares the decoder to decode a block starting at the current position of the bit reader
+     *
+     * @param history
+     *            the output preceding the block, only the last 32KB are used
+     */
+    void reset(byte[] history) {
+        int length = Math.min(history.length, WINDOW_SIZE);
+        System.arraycopy(history, history.length - length, window, 0, length);
+        this.total = length;
+        this.state = State.HEADER;
+        this.last = false;
+        this.copyLength = 0;
+        this.storedRemaining = 0;
+    }
+
+    /**
+     * Decodes up to length bytes, stopping early at the end of a block so that the caller can record block boundaries
+     *
+     * @return the number of decoded bytes or -1 if the last block has been decoded
+     */
+    int inflate(byte[] dst, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            switch (state) {
+            case DONE:
+                return written == 0 ? -1 : written;
+            case HEADER:
+                if (written > 0) {
+                    return written;
+                }
+                header();
+                break;
+            case STORED:
+                while (storedRemaining > 0 && written < length) {
+                    put(dst, offset + written++, (byte) bits.readBits(8));
+                    storedRemaining--;
+                }
+                if (storedRemaining == 0) {
+                    endOfBlock();
+                }
+                break;
+            case HUFFMAN:
+                written += huffman(dst, offset + written, length - written);
+                break;
+            }
+        }
+        return written;
+    }
+
+    private int huffman(byte[] dst, int offset, int length) throws IOException {
+        int written = 0;
+        while (written < length) {
+            if (copyLength > 0) {
+                int count = Math.min(copyLength, length - written);
+                for (int i = 0; i < count; i++) {
+                    put(dst, offset + written++, window[(int) ((total - copyDistance) & WINDOW_MASK)]);
+                }
+                copyLength -= count;
+            } else {
+                int symbol = literals.decode(bits);
+                if (symbol < 256) {
+                    put(dst, offset + written++, (byte) symbol);
+                } else if (symbol == 256) {
+                    endOfBlock();
+                    return written;
+                } else {
+                    symbol -= 257;
+                    if (symbol >= LENGTH_BASE.length) {
+                        throw new IOException("Invalid deflate length code");
+                    }
+                    copyLength = LENGTH_BASE[symbol] + extra(LENGTH_EXTRA[symbol]);
+                    int distance = distances.decode(bits);
+                    if (distance >= DISTANCE_BASE.length) {
+                        throw new IOException("Invalid deflate distance code");
+                    }
+                    copyDistance = DISTANCE_BASE[distance] + extra(DISTANCE_EXTRA[distance]);
+                    if (copyDistance > total) {
+                        throw new IOException("Invalid deflate distance too far back");
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    private void put(byte[] dst, int index, byte value) {
+        dst[index] = value;
+        window[(int) (total++ & WINDOW_MASK)] = value;
+    }
+
+    private int extra(int count) throws IOException {
+        if (count == 0) {
+            return 0;
+        }
+        return bits.readBits(count);
+    }
+
+    private void endOfBlock() {
+        state = last ? State.DONE : State.HEADER;
+    }
+
+    private void header() throws IOException {
+        last = bits.readBit();
+        switch (bits.readBits(2)) {
+        case 0 -> {
+            bits.alignToByte();
+            storedRemaining = bits.readBits(16);
+            if ((storedRemaining ^ 0xFFFF) != bits.readBits(16)) {
+                throw new IOException("Invalid deflate stored block length");
+            }
+            state = State.STORED;
+        }
+        case 1 -> {
+            literals = FIXED_LITERALS;
+            distances = FIXED_DISTANCES;
+            state = State.HUFFMAN;
+        }
+        case 2 -> {
+            dynamicTables();
+            state = State.HUFFMAN;
+        }
+        default -> throw new IOException("Invalid deflate block type");
+        }
+    }
+
+    private void dynamicTables() throws IOException {
+        int literalsCount = bits.readBits(5) + 257;
+        int distancesCount = bits.readBits(5) + 1;
+        int codeLengthsCount = bits.readBits(4) + 4;
+        if (literalsCount > 286 || distancesCount > 30) {
+            throw new IOException("Invalid deflate dynamic block header");
+        }
+        int[] codeLengths = new int[19];
+        for (int i = 0; i < codeLengthsCount; i++) {
+            codeLengths[CODE_LENGTHS_ORDER[i]] = bits.readBits(3);
+        }
+        HuffmanTable codeLengthsTable = new HuffmanTable(codeLengths);
+        int[] lengths = new int[literalsCount + distancesCount];
+        for (int i = 0; i < lengths.length; ) {
+            int symbol = codeLengthsTable.decode(bits);
+            if (symbol < 16) {
+                lengths[i++] = symbol;
+            } else {
+                int value = 0;
+                int repeat;
+                if (symbol == 16) {
+                    if (i == 0) {
+                        throw new IOException("Invalid deflate code lengths repeat");
+                    }
+                    value = lengths[i - 1];
+                    repeat = 3 + bits.readBits(2);
+                } else if (symbol == 17) {
+                    repeat = 3 + bits.readBits(3);
+                } else {
+                    repeat = 11 + bits.readBits(7);
+                }
+                if (i + repeat > lengths.length) {
+                    throw new IOException("Invalid deflate code lengths repeat");
+                }
+                Arrays.fill(lengths, i, i + repeat, value);
+                i += repeat;
+            }
+        }
+        if (lengths[256] == 0) {
+            throw new IOException("Missing deflate end of block code");
+        }
+        literals = new HuffmanTable(Arrays.copyOf(lengths, literalsCount));
+        distances = new HuffmanTable(Arrays.copyOfRange(lengths, literalsCount, lengths.length));
+    }
+
+    /**
+     * @return true if the decoder is between two blocks, where decoding can be resumed
+     */
+    boolean isBlockBoundary() {
+        return state == State.HEADER;
+    }
+
+    /**
+     * @return the last 32KB, or less, of output
+     */
+    byte[] window() {
+        int length = (int) Math.min(total, WINDOW_SIZE);
+        byte[] history = new byte[length];
+        for (int i = 0; i < length; i++) {
+            history[i] = window[(int) ((total - length + i) & WINDOW_MASK)];
+        }
+        return history;
+    }
+
+    /**
+     * Canonical Huffman code decoded with a single lookup of as many bits as the longest code. Entries hold the symbol and the code length, unused entries are zero.
+     */
+    private static final class HuffmanTable {
+        private final int[] entries;
+        private final int maxLength;
+
+        HuffmanTable(int[] lengths) throws IOException {
+            int[] counts = new int[16];
+            int max = 0;
+            for (int length : lengths) {
+                counts[length]++;
+                max = Math.max(max, length);
+            }
+            counts[0] = 0;
+            int left = 1;
+            int[] next = new int[16];
+            for (int length = 1; length < 16; length++) {
+                left = (left << 1) - counts[length];
+                if (left < 0) {
+                    throw new IOException("Invalid over-subscribed deflate Huffman code");
+                }
+                next[length] = (next[length - 1] + counts[length - 1]) << 1;
+            }
+            this.maxLength = Math.max(1, max);
+            this.entries = new int[1 << maxLength];
+            for (int symbol = 0; symbol < lengths.length; symbol++) {
+                int length = lengths[symbol];
+                if (length > 0) {
+                    int reversed = Integer.reverse(next[length]++) >>> (32 - length);
+                    for (int i = reversed; i < entries.length; i += 1 << length) {
+                        entries[i] = (symbol << 4) | length;
+                    }
+                }
+            }
+        }
+
+        int decode(BitReader bits) throws IOException {
+            int entry = entries[bits.peekBits(maxLength)];
+            int length = entry & 15;
+            if (length == 0) {
+                throw new IOException("Invalid deflate Huffman code");
+            }
+            // peeked bits past the end are zeros, reading the code fails on truncated content
+            bits.readBits(length);
+            return entry >>> 4;
+        }
+    }
+}
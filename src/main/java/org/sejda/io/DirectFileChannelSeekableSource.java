@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} implementation based on a {@link FileChannel} opened with the JDK {@code com.sun.nio.file.ExtendedOpenOption.DIRECT} option, bypassing the operating system page cache. It's meant for
+ * batch jobs reading large files once, where going through the page cache would evict the working set of other processes. Direct I/O requires block aligned reads into aligned
+ * buffers, this source takes care of it reading block aligned chunks of {@link SeekableSourceOptions#directIOBufferSize()} bytes into an aligned off-heap buffer and serving
+ * reads from there, so it doesn't need to be wrapped in a {@link BufferedSeekableSource}. The option is looked up at runtime, if it's not available in the running JDK or
+ * the file system doesn't support direct I/O, the file is read through the page cache.
+ * <p>
+ * The option lives in the {@code jdk.unsupported} module which this module only requires statically, when running on the module path the module has to be resolved adding
+ * {@code --add-modules jdk.unsupported} to the command line, otherwise the option is not found and the file is read through the page cache.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class DirectFileChannelSeekableSource extends BaseSeekableSource {
+    private static final Logger LOG = LoggerFactory.getLogger(DirectFileChannelSeekableSource.class);
+    private static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int blockSize;
+    private final int bufferSize;
+    private ByteBuffer buffer;
+    private long bufferPosition;
+    private long position;
+    private final ThreadBoundCopiesSupplier<DirectFileChannelSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> new DirectFileChannelSeekableSource(this));
+
+    public DirectFileChannelSeekableSource(Path path) {
+        this(path, SeekableSourceOptions.defaults());
+    }
+
+    /**
+     * Reads the file in chunks of the direct I/O buffer size of the given options
+     */
+    public DirectFileChannelSeekableSource(Path path, SeekableSourceOptions options) {
+        requireNotNullArg(path, "Input path cannot be null");
+        requireNotNullArg(options, "Options cannot be null");
+        super(path.toAbsolutePath().toString());
+        try {
+            this.blockSize = blockSize(path);
+            this.bufferSize = Math.max(blockSize, options.directIOBufferSize() / blockSize * blockSize);
+            this.channel = open(path);
+            this.size = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public DirectFileChannelSeekableSource(File file) {
+        this(ofNullable(file).map(File::toPath)
+                .orElseThrow(() -> new IllegalArgumentException("Input file cannot be null")));
+    }
+
+    private DirectFileChannelSeekableSource(DirectFileChannelSeekableSource parent) {
+        super(parent);
+        this.channel = parent.channel;
+        this.size = parent.size;
+        this.blockSize = parent.blockSize;
+        this.bufferSize = parent.bufferSize;
+    }
+
+    private static int blockSize(Path path) {
+        try {
+            return (int) Files.getFileStore(path).getBlockSize();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("Unable to retrieve the file store block size, using the default", e);
+            return DEFAULT_BLOCK_SIZE;
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        if (nonNull(DirectOption.DIRECT)) {
+            try {
+                return FileChannel.open(path, StandardOpenOption.READ, DirectOption.DIRECT);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOG.warn("Direct I/O is not supported for {}, falling back to reads through the page cache", path, e);
+            }
+        }
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * Holder of the {@code DIRECT} open option, looked up by name so that we don't depend on the jdk.unsupported module at compile time. It's null if the running JDK
+     * doesn't provide it.
+     */
+    private static final class DirectOption {
+        static final OpenOption DIRECT = lookup();
+
+        private static OpenOption lookup() {
+            try {
+                Object[] values = Class.forName("com.sun.nio.file.ExtendedOpenOption").getEnumConstants();
+                if (nonNull(values)) {
+                    for (Object value : values) {
+                        if (value instanceof OpenOption option && "DIRECT".equals(option.toString())) {
+                            return option;
+                        }
+                    }
+                }
+                LOG.warn("Direct I/O open option not found, files will be read through the page cache");
+            } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+                LOG.warn("Direct I/O open option not available, files will be read through the page cache", e);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long newPosition) {
+        requireArg(newPosition >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(newPosition, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        int read = 0;
+        while (dst.hasRemaining() && ensureBuffer() > 0) {
+            int offset = (int) (position - bufferPosition);
+            int toCopy = Math.min(dst.remaining(), buffer.limit() - offset);
+            dst.put(dst.position(), buffer, offset, toCopy);
+            dst.position(dst.position() + toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        if (read == 0 && dst.hasRemaining()) {
+            return -1;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (ensureBuffer() > 0) {
+            return buffer.get((int) (position++ - bufferPosition)) & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * Makes sure the buffer contains the byte at the current position, reading the block aligned chunk around it if necessary.
+     *
+     * @return the number of bytes available in the buffer from the current position
+     */
+    private int ensureBuffer() throws IOException {
+        if (position >= size) {
+            return 0;
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize + blockSize).alignedSlice(blockSize).limit(0);
+        }
+        if (position < bufferPosition || position >= bufferPosition + buffer.limit()) {
+            bufferPosition = position - (position % blockSize);
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer, bufferPosition + buffer.position());
+            } while (read > 0 && buffer.hasRemaining() && buffer.position() % blockSize == 0);
+            buffer.flip();
+        }
+        return (int) Math.max(0, bufferPosition + buffer.limit() - position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        if (!isCursor()) {
+            IOUtils.close(channel);
+        }
+        this.buffer = null;
+    }
+
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new DirectFileChannelSeekableSource(this);
+    }
+}
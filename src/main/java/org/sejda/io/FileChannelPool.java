@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * A bounded pool of open {@link FileChannel}s. Channels are opened on first use and, once the pool is full, the least recently used one is closed to make room. The recency is
+ * approximated with a second chance (clock) policy so that using a channel only sets a flag and doesn't require a lock, the lock is only taken to open or close channels. A
+ * closed channel is opened again on its next use.
+ *
+ * @author Andrea Vacondio
+ */
+final class FileChannelPool {
+    private static final Logger LOG = LoggerFactory.getLogger(FileChannelPool.class);
+
+    static final FileChannelPool GLOBAL = new FileChannelPool(
+            Integer.getInteger(SeekableSources.CHANNEL_POOL_SIZE_PROPERTY, 256));
+
+    private final int capacity;
+    private final Deque<PooledChannel> open = new ArrayDeque<>();
+
+    FileChannelPool(int capacity) {
+        requireArg(capacity > 0, "Pool capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return a handle to a channel for the given path that is opened lazily
+     */
+    PooledChannel register(Path path) {
+        return new PooledChannel(this, path);
+    }
+
+    /**
+     * @return the number of channels currently open
+     */
+    synchronized int openChannels() {
+        return open.size();
+    }
+
+    private synchronized FileChannel open(PooledChannel pooled) throws IOException {
+        if (pooled.released) {
+            throw new ClosedChannelException();
+        }
+        FileChannel current = pooled.channel;
+        if (current != null && current.isOpen()) {
+            return current;
+        }
+        open.remove(pooled);
+        while (open.size() >= capacity) {
+            evict();
+        }
+        pooled.channel = FileChannel.open(pooled.path, StandardOpenOption.READ);
+        open.addLast(pooled);
+        return pooled.channel;
+    }
+
+    private void evict() {
+        PooledChannel candidate = open.pollFirst();
+        for (int i = open.size() + 1; i > 0 && candidate.referenced; i--) {
+            candidate.referenced = false;
+            open.addLast(candidate);
+            candidate = open.pollFirst();
+        }
+        // if every channel was used again while we were scanning, the least recently given a second chance is closed
+        LOG.trace("Closing pooled channel for {}", candidate.path);
+        candidate.closeChannel();
+    }
+
+    private synchronized void release(PooledChannel pooled) {
+        pooled.released = true;
+        open.remove(pooled);
+        pooled.closeChannel();
+    }
+
+    /**
+     * Handle to a channel of the pool. The channel might be closed by the pool at any time, users are expected to retry when a {@link java.nio.channels.ClosedChannelException}
+     * is thrown.
+     */
+    static final class PooledChannel {
+        private final FileChannelPool pool;
+        private final Path path;
+        private volatile FileChannel channel;
+        private volatile boolean referenced;
+        private boolean released;
+
+        private PooledChannel(FileChannelPool pool, Path path) {
+            this.pool = pool;
+            this.path = path;
+        }
+
+        /**
+         * @return the open channel, opening it if necessary
+         * @throws ClosedChannelException if the handle has been closed
+         */
+        FileChannel get() throws IOException {
+            referenced = true;
+            FileChannel current = channel;
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+            return pool.open(this);
+        }
+
+        private void closeChannel() {
+            IOUtils.closeQuietly(channel);
+            channel = null;
+        }
+
+        /**
+         * Closes the channel and removes it from the pool, after this the channel is never opened again and {@link #get()} throws a {@link ClosedChannelException}
+         */
+        void close() {
+            pool.release(this);
+        }
+    }
+}
@@ -16,57 +16,131 @@
 package org.sejda.io;
 
 import org.sejda.commons.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Optional.ofNullable;
 import static org.sejda.commons.util.RequireUtils.requireArg;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
 /**
- * A {@link SeekableSource} implementation based on {@link FileChannel}.
+ * A {@link SeekableSource} implementation based on {@link FileChannel}. Reads are positional, so cursors and thread bound copies share the same {@link FileChannel}. A
+ * reader interrupted during a read closes the shared channel, when the source was created from a path the channel is transparently opened again on the next read so other
+ * readers are not affected. In lazy mode the channel is not opened by the constructor but borrowed from a global bounded pool of channels (see
+ * {@link SeekableSources#CHANNEL_POOL_SIZE_PROPERTY}), the pool may close it when other channels are needed and it's transparently opened again on the next read.
  *
  * @author Andrea Vacondio
  */
 public class FileChannelSeekableSource extends BaseSeekableSource {
+    private static final Logger LOG = LoggerFactory.getLogger(FileChannelSeekableSource.class);
+    private static final ExecutorService PREFETCH = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int PREFETCH_BUFFER_SIZE = 1 << 18;
+    /**
+     * Maximum number of ranges read at the same time by the prefetch tasks
+     */
+    private static final int PREFETCH_CONCURRENCY = 4;
+    /**
+     * Maximum number of bytes waiting to be prefetched, ranges are ignored when exceeding it
+     */
+    private static final long MAX_PREFETCH_BYTES = 1L << 26;
+    private static final Semaphore PREFETCH_PERMITS = new Semaphore(PREFETCH_CONCURRENCY);
+    private static final AtomicLong PREFETCH_PENDING = new AtomicLong();
+    private static final Queue<ByteBuffer> PREFETCH_BUFFERS = new ConcurrentLinkedQueue<>();
+
     private final FileChannel channel;
+    private final FileChannelPool.PooledChannel pooled;
+    private final Set<ByteRange> prefetching;
     private Path path;
     private final long size;
+    private long position;
     private final ThreadBoundCopiesSupplier<FileChannelSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
-            () -> new FileChannelSeekableSource(path));
+            () -> new FileChannelSeekableSource(this));
 
     public FileChannelSeekableSource(Path path) {
+        this(path, false);
+    }
+
+    /**
+     * @param lazy
+     *            if true the channel is lazily opened from the global pool of channels
+     */
+    public FileChannelSeekableSource(Path path, boolean lazy) {
+        this(path, lazy ? FileChannelPool.GLOBAL : null);
+    }
+
+    FileChannelSeekableSource(Path path, FileChannelPool pool) {
         requireNotNullArg(path, "Input path cannot be null");
         super(path.toAbsolutePath().toString());
+        this.channel = null;
         try {
-            this.channel = FileChannel.open(path, StandardOpenOption.READ);
-            this.size = channel.size();
+            if (pool != null) {
+                this.size = Files.size(path);
+                this.pooled = pool.register(path);
+            } else {
+                // a dedicated pool so that the channel is opened again if an interrupted reader closes it for everyone else
+                this.pooled = new FileChannelPool(1).register(path);
+                this.size = pooled.get().size();
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        this.prefetching = ConcurrentHashMap.newKeySet();
         this.path = path;
     }
 
+    /**
+     * Creates a source over an already open channel, the channel is closed when the source is closed
+     */
+    FileChannelSeekableSource(FileChannel channel, String id) throws IOException {
+        super(id);
+        this.channel = channel;
+        this.size = channel.size();
+        this.pooled = null;
+        this.prefetching = ConcurrentHashMap.newKeySet();
+    }
+
     public FileChannelSeekableSource(File file) {
         this(ofNullable(file).map(File::toPath)
                 .orElseThrow(() -> new IllegalArgumentException("Input file cannot be null")));
     }
 
+    private FileChannelSeekableSource(FileChannelSeekableSource parent) {
+        super(parent);
+        this.channel = parent.channel;
+        this.pooled = parent.pooled;
+        this.prefetching = parent.prefetching;
+        this.path = parent.path;
+        this.size = parent.size;
+    }
+
     @Override
-    public long position() throws IOException {
-        return channel.position();
+    public long position() {
+        return position;
     }
 
     @Override
-    public SeekableSource position(long newPosition) throws IOException {
+    public SeekableSource position(long newPosition) {
         requireArg(newPosition >= 0, "Cannot set position to a negative value");
-        channel.position(newPosition);
+        this.position = newPosition;
         return this;
     }
 
@@ -79,29 +153,135 @@ public class FileChannelSeekableSource extends BaseSeekableSource {
     public void close() throws IOException {
         super.close();
         IOUtils.close(localCopiesSupplier);
-        IOUtils.close(channel);
+        if (!isCursor()) {
+            IOUtils.close(channel);
+            ofNullable(pooled).ifPresent(FileChannelPool.PooledChannel::close);
+        }
     }
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
         requireOpen();
-        return channel.read(dst);
+        int read = read(dst, position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
     }
 
     @Override
     public int read() throws IOException {
         requireOpen();
         ByteBuffer buffer = ByteBuffer.allocate(1);
-        if (channel.read(buffer) > 0) {
+        if (read(buffer, position) > 0) {
+            position++;
             buffer.flip();
             return buffer.get() & 0xff;
         }
         return -1;
     }
 
+    private int read(ByteBuffer dst, long position) throws IOException {
+        if (pooled == null) {
+            return channel.read(dst, position);
+        }
+        while (true) {
+            try {
+                return pooled.get().read(dst, position);
+            } catch (ClosedByInterruptException e) {
+                throw e;
+            } catch (ClosedChannelException e) {
+                // closed by the pool to make room for another channel or by a reader that was interrupted
+                requireOpen();
+            }
+        }
+    }
+
+    /**
+     * Asynchronously reads the given ranges, on virtual threads, so that they are in the operating system page cache by the time they are read. At most
+     * {@value #PREFETCH_CONCURRENCY} ranges are read at the same time, ranges that are already being prefetched are skipped and ranges are ignored when too many bytes are
+     * waiting to be prefetched.
+     */
+    @Override
+    public void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+        for (ByteRange range : ranges) {
+            ByteRange trimmed = range.translate(0, size);
+            trimmed = new ByteRange(trimmed.position(), Math.min(trimmed.length(), MAX_PREFETCH_BYTES));
+            if (trimmed.length() > 0 && !isPrefetching(trimmed) && reservePrefetch(trimmed)) {
+                ByteRange task = trimmed;
+                PREFETCH.execute(() -> prefetch(task));
+            }
+        }
+    }
+
+    private boolean isPrefetching(ByteRange range) {
+        return prefetching.stream().anyMatch(r -> r.position() <= range.position() && r.end() >= range.end());
+    }
+
+    private boolean reservePrefetch(ByteRange range) {
+        if (PREFETCH_PENDING.addAndGet(range.length()) > MAX_PREFETCH_BYTES) {
+            PREFETCH_PENDING.addAndGet(-range.length());
+            LOG.trace("Too many bytes waiting to be prefetched, ignoring {} of {}", range, id());
+            return false;
+        }
+        if (!prefetching.add(range)) {
+            PREFETCH_PENDING.addAndGet(-range.length());
+            return false;
+        }
+        return true;
+    }
+
+    private void prefetch(ByteRange range) {
+        try {
+            PREFETCH_PERMITS.acquire();
+            ByteBuffer buffer = ofNullable(PREFETCH_BUFFERS.poll()).orElseGet(
+                    () -> ByteBuffer.allocateDirect(PREFETCH_BUFFER_SIZE));
+            try {
+                long current = range.position();
+                while (current < range.end() && isOpen()) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), range.end() - current));
+                    int read = read(buffer, current);
+                    if (read <= 0) {
+                        break;
+                    }
+                    current += read;
+                }
+            } finally {
+                PREFETCH_BUFFERS.offer(buffer);
+                PREFETCH_PERMITS.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to prefetch {} from {}", range, id(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            prefetching.remove(range);
+            PREFETCH_PENDING.addAndGet(-range.length());
+        }
+    }
+
+    /**
+     * @return the number of bytes waiting to be prefetched by all the sources
+     */
+    static long pendingPrefetchBytes() {
+        return PREFETCH_PENDING.get();
+    }
+
     @Override
     public SeekableSource view(long startingPosition, long length) throws IOException {
         requireOpen();
         return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
     }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new FileChannelSeekableSource(this);
+    }
 }
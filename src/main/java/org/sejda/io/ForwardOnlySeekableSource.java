@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.UUID;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} over a non seekable stream or channel that is read once, front to back, keeping only the most recent bytes in a ring buffer. The position can be
+ * moved anywhere within the lookback window, so {@link #back()}, {@link #peek()} and {@link #peekBack()} work as usual, and forward to any position, skipping the bytes in
+ * between. Moving to a position that already left the window fails with an {@link IllegalArgumentException}.
+ * <p>
+ * When the size of the stream is not given, {@link #size()} returns the number of bytes read from the stream so far, which is the actual size once the end of the stream has
+ * been reached, {@link #asInputStream()} doesn't rely on it and reads up to the end of the stream. Views and cursors are not supported.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class ForwardOnlySeekableSource extends BaseSeekableSource {
+    private static final int MAX_READ_AHEAD = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    /**
+     * Ring buffer holding the lookback window followed by up to readAhead bytes read from the channel and not consumed yet
+     */
+    private final byte[] window;
+    private final int readAhead;
+    private final long size;
+    /**
+     * Number of bytes read from the channel, the window holds the ones right before this
+     */
+    private long consumed;
+    private long position;
+    private boolean eof;
+    private final Cleaner.Cleanable reservation;
+
+    /**
+     * @param stream
+     *            the stream to read, of unknown size
+     * @param lookback
+     *            the number of bytes before the most recently read one the position can be moved back to
+     */
+    public ForwardOnlySeekableSource(InputStream stream, int lookback) {
+        requireNotNullArg(stream, "Input stream cannot be null");
+        this(Channels.newChannel(stream), -1, lookback);
+    }
+
+    /**
+     * @param channel
+     *            a blocking channel to read
+     * @param size
+     *            the number of bytes of the channel or a negative value if unknown
+     * @param lookback
+     *            the number of bytes before the most recently read one the position can be moved back to
+     */
+    public ForwardOnlySeekableSource(ReadableByteChannel channel, long size, int lookback) {
+        requireNotNullArg(channel, "Input channel cannot be null");
+        super(UUID.randomUUID().toString());
+        requireArg(lookback > 0, "Lookback window must be positive");
+        this.channel = channel;
+        this.size = size;
+        this.readAhead = Math.min(lookback, MAX_READ_AHEAD);
+        this.window = new byte[lookback + readAhead];
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.BUFFERS, window.length);
+    }
+
+    /**
+     * @return the lowest position the source can be moved to
+     */
+    public long windowStart() {
+        return Math.max(0, consumed - window.length);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Moves to the given position, reading and discarding the stream bytes up to it if it's past the most recently read byte
+     *
+     * @throws IllegalArgumentException
+     *             if the position is before the lookback window
+     */
+    @Override
+    public SeekableSource position(long position) throws IOException {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        requireArg(position >= windowStart(),
+                "Cannot move to " + position + ", the lookback window starts at " + windowStart());
+        while (position > consumed && !eof) {
+            requireOpen();
+            fill(position);
+        }
+        this.position = Math.min(position, consumed);
+        return this;
+    }
+
+    /**
+     * Moves back or, with a negative offset, forward. When the size of the stream is unknown, moving forward reads the stream up to the new position to find out if it exists.
+     */
+    @Override
+    public SeekableSource back(long offset) throws IOException {
+        long newPosition = this.position - offset;
+        requireArg(newPosition >= 0 && (size < 0 || newPosition <= size),
+                "Going back would move to " + newPosition + ", outside of source boundaries");
+        position(newPosition);
+        requireArg(this.position == newPosition,
+                "Going back would move to " + newPosition + ", outside of source boundaries");
+        return this;
+    }
+
+    @Override
+    public long size() {
+        if (size >= 0) {
+            return size;
+        }
+        return consumed;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (!available()) {
+            return -1;
+        }
+        int offset = (int) (position % window.length);
+        int read = (int) Math.min(Math.min(dst.remaining(), consumed - position), window.length - offset);
+        dst.put(window, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (available()) {
+            return window[(int) (position++ % window.length)] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if there are bytes to read at the current position, reading more from the channel if needed
+     */
+    private boolean available() throws IOException {
+        while (position == consumed && !eof) {
+            fill(position);
+        }
+        return position < consumed;
+    }
+
+    /**
+     * Reads from the channel at most up to the end of the ring buffer and at most readAhead bytes past the given target position, overwriting the oldest bytes of the window.
+     * This way the lookback bytes before the target are never overwritten.
+     */
+    private void fill(long target) throws IOException {
+        int offset = (int) (consumed % window.length);
+        int length = (int) Math.min(window.length - offset, target + readAhead - consumed);
+        int read = channel.read(ByteBuffer.wrap(window, offset, length));
+        if (read < 0) {
+            eof = true;
+        } else {
+            consumed += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(channel);
+        reservation.clean();
+    }
+
+    /**
+     * The stream reads the source up to its end without asking for its size, which might not be known yet
+     */
+    @Override
+    public InputStream asInputStream() {
+        return new SequentialSeekableSourceInputStream(this);
+    }
+
+    /**
+     * Views are not supported by a forward only source
+     *
+     * @throws UnsupportedOperationException
+     *             always
+     */
+    @Override
+    public SeekableSource view(long startingPosition, long length) {
+        throw new UnsupportedOperationException("Views are not supported by " + getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} inflating on the fly a wrapped source holding deflated content, to read large compressed streams (ex. FlateDecode streams or gzipped documents)
+ * at random positions without inflating them to memory or to a temporary file. To inflate a range of a source, wrap a view of the range. When the source is created, the
+ * whole content is inflated once to verify it and to build an index of checkpoints: every {@link #DEFAULT_CHECKPOINT_SPACING} bytes of output, at the first deflate block
+ * boundary, the bit position of the block and the 32KB of output preceding it are saved. A read then inflates only from the nearest checkpoint preceding the position,
+ * sequential reads continue from where the previous read stopped. Checkpoint windows are accounted in the {@link MemoryBudget} until the source is closed. Cursors and
+ * views of this source read cursors of the wrapped source, so they are only supported if the wrapped source supports cursors. The wrapped source is closed when this source
+ * is closed.
+ *
+ * @author Andrea Vacondio
+ */
+public class InflatingSeekableSource extends BaseSeekableSource {
+    public static final long DEFAULT_CHECKPOINT_SPACING = 1 << 22;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Format of the wrapped content
+     */
+    public enum Format {
+        /**
+         * Raw deflate data
+         */
+        DEFLATE,
+        /**
+         * Deflate data with a zlib header and Adler-32 trailer, as in PDF FlateDecode streams
+         */
+        ZLIB,
+        /**
+         * A gzip member, only the first member of a multi-member file is inflated
+         */
+        GZIP
+    }
+
+    private record Checkpoint(long position, long bitPosition, byte[] window) {
+    }
+
+    private final SeekableSource wrapped;
+    private final List<Checkpoint> checkpoints;
+    private final long size;
+    private final Cleaner.Cleanable reservation;
+    private final BitReader bits;
+    private final DeflateDecoder decoder;
+    /**
+     * Output position the decoder will decode next, Long.MAX_VALUE if the decoder must be reset
+     */
+    private long decoderPosition = Long.MAX_VALUE;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private long bufferStart;
+    private int bufferLength;
+    private long position;
+    private final ThreadBoundCopiesSupplier<InflatingSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> {
+                try {
+                    return new InflatingSeekableSource(this);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+    public InflatingSeekableSource(SeekableSource wrapped, Format format) throws IOException {
+        this(wrapped, format, DEFAULT_CHECKPOINT_SPACING);
+    }
+
+    /**
+     * @param spacing
+     *            minimum number of bytes of output between two checkpoints, smaller values use more memory and make random reads faster
+     * @throws IOException
+     *             if the wrapped content is not valid for the given format
+     */
+    public InflatingSeekableSource(SeekableSource wrapped, Format format, long spacing) throws IOException {
+        requireNotNullArg(wrapped, "Input decorated SeekableSource cannot be null");
+        requireNotNullArg(format, "Format cannot be null");
+        super(wrapped.id());
+        requireArg(spacing > 0, "Checkpoint spacing must be positive");
+        wrapped.requireOpen();
+        this.wrapped = wrapped;
+        this.bits = new BitReader(wrapped, BitReader.Order.LSB_FIRST);
+        this.decoder = new DeflateDecoder(bits);
+        bits.bitPosition(0);
+        header(format);
+
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        Checkpoint last = new Checkpoint(0, bits.bitPosition(), new byte[0]);
+        checkpoints.add(last);
+        Checksum checksum = switch (format) {
+            case ZLIB -> new Adler32();
+            case GZIP -> new CRC32();
+            case DEFLATE -> null;
+        };
+        decoder.reset(last.window());
+        long total = 0;
+        int inflated;
+        while ((inflated = decoder.inflate(buffer, 0, BUFFER_SIZE)) >= 0) {
+            if (checksum != null) {
+                checksum.update(buffer, 0, inflated);
+            }
+            total += inflated;
+            if (decoder.isBlockBoundary() && total - last.position() >= spacing) {
+                last = new Checkpoint(total, bits.bitPosition(), decoder.window());
+                checkpoints.add(last);
+            }
+        }
+        trailer(format, checksum, total);
+        this.size = total;
+        this.checkpoints = List.copyOf(checkpoints);
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.IN_MEMORY,
+                checkpoints.stream().mapToLong(c -> c.window().length).sum());
+    }
+
+    private InflatingSeekableSource(InflatingSeekableSource parent) throws IOException {
+        super(parent);
+        this.wrapped = parent.wrapped.cursor();
+        this.checkpoints = parent.checkpoints;
+        this.size = parent.size;
+        this.reservation = null;
+        this.bits = new BitReader(wrapped, BitReader.Order.LSB_FIRST);
+        this.decoder = new DeflateDecoder(bits);
+    }
+
+    private void header(Format format) throws IOException {
+        if (format == Format.ZLIB) {
+            int method = bits.readBits(8);
+            int flags = bits.readBits(8);
+            if ((method & 0x0F) != 8 || ((method << 8) | flags) % 31 != 0) {
+                throw new IOException("Invalid zlib header");
+            }
+            if ((flags & 0x20) != 0) {
+                throw new IOException("Unsupported zlib preset dictionary");
+            }
+        } else if (format == Format.GZIP) {
+            if (bits.readBits(16) != 0x8B1F || bits.readBits(8) != 8) {
+                throw new IOException("Invalid gzip header");
+            }
+            int flags = bits.readBits(8);
+            // modification time, extra flags and operating system
+            bits.skipBits(6 * 8);
+            if ((flags & 0x04) != 0) {
+                bits.skipBits(bits.readBits(16) * 8L);
+            }
+            if ((flags & 0x08) != 0) {
+                skipZeroTerminated();
+            }
+            if ((flags & 0x10) != 0) {
+                skipZeroTerminated();
+            }
+            if ((flags & 0x02) != 0) {
+                bits.skipBits(16);
+            }
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (bits.readBits(8) != 0) {
+            // skip
+        }
+    }
+
+    private void trailer(Format format, Checksum checksum, long total) throws IOException {
+        bits.alignToByte();
+        if (format == Format.ZLIB) {
+            int adler = 0;
+            for (int i = 0; i < 4; i++) {
+                adler = (adler << 8) | bits.readBits(8);
+            }
+            if (adler != (int) checksum.getValue()) {
+                throw new IOException("Invalid zlib checksum");
+            }
+        } else if (format == Format.GZIP) {
+            if (bits.readBits(32) != (int) checksum.getValue() || bits.readBits(32) != (int) total) {
+                throw new IOException("Invalid gzip checksum or size");
+            }
+        }
+    }
+
+    /**
+     * @return the number of checkpoints decoding can be resumed from
+     */
+    int checkpoints() {
+        return checkpoints.size();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return super.isOpen() && wrapped.isOpen();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long position) {
+        requireArg(position >= 0, "Cannot set position to a negative value");
+        this.position = Math.min(position, size);
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        if (position >= size) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size) {
+            fill();
+            int offset = (int) (position - bufferStart);
+            int toCopy = Math.min(dst.remaining(), bufferLength - offset);
+            dst.put(buffer, offset, toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (position < size) {
+            fill();
+            return buffer[(int) (position++ - bufferStart)] & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * Makes sure the buffer contains the current position, resuming from the nearest checkpoint unless the position follows the decoded output
+     */
+    private void fill() throws IOException {
+        if (position >= bufferStart && position < bufferStart + bufferLength) {
+            return;
+        }
+        Checkpoint checkpoint = checkpoint(position);
+        if (decoderPosition > position || checkpoint.position() > decoderPosition) {
+            bits.bitPosition(checkpoint.bitPosition());
+            decoder.reset(checkpoint.window());
+            decoderPosition = checkpoint.position();
+        }
+        bufferLength = 0;
+        while (decoderPosition <= position) {
+            int inflated = decoder.inflate(buffer, 0, BUFFER_SIZE);
+            if (inflated < 0) {
+                decoderPosition = Long.MAX_VALUE;
+                throw new IOException("Unexpected end of deflated content");
+            }
+            bufferStart = decoderPosition;
+            bufferLength = inflated;
+            decoderPosition += inflated;
+        }
+    }
+
+    /**
+     * @return the last checkpoint at or before the given position
+     */
+    private Checkpoint checkpoint(long position) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (checkpoints.get(middle).position() <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return checkpoints.get(low);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isCursor()) {
+            reservation.clean();
+        }
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        IOUtils.close(wrapped);
+        buffer = null;
+        bufferLength = 0;
+        decoderPosition = Long.MAX_VALUE;
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             if the wrapped source doesn't support cursors, views read cursors of the wrapped source
+     */
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        if (!wrapped.supportsCursors()) {
+            throw new UnsupportedOperationException(
+                    "Views are not supported by " + getClass().getSimpleName() + " over a source without cursors");
+        }
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return wrapped.supportsCursors();
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new InflatingSeekableSource(this);
+    }
+}
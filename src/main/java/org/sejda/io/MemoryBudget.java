@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Accounts for the memory used by the sources of this library: {@link BufferedSeekableSource} buffers, {@link ByteArraySeekableSource} contents and
+ * {@link MemoryMappedSeekableSource} mapped bytes. The budget doesn't refuse allocations, it's used by {@link SeekableSources} and by the sources themselves to pick a cheaper
+ * alternative (reading through a {@link FileChannelSeekableSource} instead of mapping or holding the bytes in memory, smaller buffers) when the headroom runs low. The limit of
+ * the {@link #global()} budget is {@link SeekableSources#MEMORY_BUDGET_PROPERTY} bytes, unlimited by default, and it can be changed at runtime.
+ *
+ * @author Andrea Vacondio
+ */
+public final class MemoryBudget {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final MemoryBudget GLOBAL = new MemoryBudget(
+            Long.getLong(SeekableSources.MEMORY_BUDGET_PROPERTY, Long.MAX_VALUE));
+    /**
+     * The budget is considered low when the headroom is below this fraction of the limit
+     */
+    private static final int LOW_HEADROOM_DIVISOR = 10;
+
+    /**
+     * Types of memory accounted by the budget
+     */
+    public enum Category {
+        BUFFERS,
+        IN_MEMORY,
+        MAPPED
+    }
+
+    private final AtomicLongArray used = new AtomicLongArray(Category.values().length);
+    private volatile long limit;
+
+    MemoryBudget(long limit) {
+        limit(limit);
+    }
+
+    /**
+     * @return the budget shared by all the sources
+     */
+    public static MemoryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return the number of bytes the sources are allowed to use
+     */
+    public long limit() {
+        return limit;
+    }
+
+    /**
+     * Sets the number of bytes the sources are allowed to use
+     *
+     * @param limit
+     *            a positive number of bytes
+     */
+    public void limit(long limit) {
+        requireArg(limit > 0, "Memory budget must be positive");
+        this.limit = limit;
+    }
+
+    /**
+     * @return the number of bytes currently used by the sources
+     */
+    public long used() {
+        long total = 0;
+        for (int i = 0; i < used.length(); i++) {
+            total += used.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of bytes of the given category currently used by the sources
+     */
+    public long used(Category category) {
+        requireNotNullArg(category, "Category cannot be null");
+        return used.get(category.ordinal());
+    }
+
+    /**
+     * @return the number of bytes that can still be used before exceeding the limit, zero if the limit has been exceeded
+     */
+    public long headroom() {
+        return Math.max(0, limit - used());
+    }
+
+    /**
+     * @return true if the headroom is below 10% of the limit
+     */
+    public boolean isLow() {
+        return headroom() < limit / LOW_HEADROOM_DIVISOR;
+    }
+
+    /**
+     * @return true if the given number of bytes can be used without making the budget low
+     */
+    public boolean canAfford(long bytes) {
+        return headroom() - bytes >= limit / LOW_HEADROOM_DIVISOR;
+    }
+
+    /**
+     * @return the preferred size if it can be afforded, the fallback size otherwise
+     */
+    int affordable(int preferred, int fallback) {
+        if (canAfford(preferred)) {
+            return preferred;
+        }
+        return Math.min(preferred, fallback);
+    }
+
+    /**
+     * Accounts for the given number of bytes. The bytes are accounted even if they exceed the limit.
+     */
+    void reserve(Category category, long bytes) {
+        used.addAndGet(category.ordinal(), bytes);
+    }
+
+    /**
+     * Accounts for the given number of bytes on behalf of the given owner. The bytes are given back when the returned reservation is cleaned, which can be done more than
+     * once, or when the owner becomes unreachable, so that a source that is never closed doesn't hold the budget forever.
+     *
+     * @return the reservation to clean once the owner doesn't use the memory anymore
+     */
+    Cleaner.Cleanable reserve(Object owner, Category category, long bytes) {
+        reserve(category, bytes);
+        return CLEANER.register(owner, () -> release(category, bytes));
+    }
+
+    /**
+     * Gives back the given number of bytes previously reserved
+     */
+    void release(Category category, long bytes) {
+        used.addAndGet(category.ordinal(), -bytes);
+    }
+}
@@ -22,6 +22,9 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.Cleaner;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
@@ -29,48 +32,100 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import static java.util.Optional.ofNullable;
 import static org.sejda.commons.util.RequireUtils.requireArg;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
 
 /**
- * A {@link SeekableSource} implementation based on MappedByteBuffer. To overcome the int limit of the MappedByteBuffer, this source implement a pagination
- * algorithm allowing to open files of any size. The size of the pages can be configured using the {@link SeekableSources#MEMORY_MAPPED_PAGE_SIZE_PROPERTY}
- * system property.
+ * A {@link SeekableSource} implementation based on memory mapped {@link MemorySegment}s. The file is mapped in pages, allowing to open files of any size. The size of the pages can
+ * be configured using the {@link SeekableSources#MEMORY_MAPPED_PAGE_SIZE_PROPERTY} system property or the {@link SeekableSourceOptions}. How the mapping is released is defined by
+ * its {@link Lifecycle}, configured using the {@link SeekableSources#MEMORY_MAPPED_LIFECYCLE_PROPERTY} system property or the {@link SeekableSourceOptions}.
  *
  * @author Andrea Vacondio
  *
  */
 public class MemoryMappedSeekableSource extends BaseSeekableSource {
     private static final Logger LOG = LoggerFactory.getLogger(MemoryMappedSeekableSource.class);
-    private static final long MB_256 = 1 << 28;
+    private static final long LOAD_CHUNK_SIZE = 1 << 22;
 
-    private final long pageSize = Long.getLong(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, MB_256);
-    private final List<ByteBuffer> pages = new ArrayList<>();
+    /**
+     * How the mapping of a source is released
+     */
+    public enum Lifecycle {
+        /**
+         * The file is unmapped when the source is closed. Closing a shared arena synchronizes with every thread of the JVM, which can cause latency spikes when many sources
+         * are closed on a JVM running many threads.
+         */
+        SHARED,
+        /**
+         * The file is unmapped when the source is closed, without synchronizing with other threads. The source and its views can only be used and closed by the thread that
+         * created it, using them from another thread throws a {@link WrongThreadException}, and loading ranges happens on that thread. Features relying on other threads are
+         * not available: the source doesn't {@link SeekableSource#supportsCursors() support cursors}, so {@link MultiPatternScanner} and {@link RangeHashIndex} process it
+         * sequentially, and views can't be handed to other threads.
+         */
+        CONFINED,
+        /**
+         * Closing the source is cheap and the file is unmapped by the garbage collector once the source and its cursors are unreachable, without synchronizing with other
+         * threads. The mapping may outlive the source for a while, keeping the file open.
+         */
+        AUTO
+    }
+
+    private final long pageSize;
+    private final Lifecycle lifecycle;
+    private final List<MemorySegment> pages;
+    private final AsciiNumberParser parser = new AsciiNumberParser();
     private final Arena arena;
     private final long size;
+    private final Cleaner.Cleanable reservation;
+    /**
+     * The only thread allowed to use a {@link Lifecycle#CONFINED} source, null for the other lifecycles
+     */
+    private final Thread owner;
     private final ThreadBoundCopiesSupplier<MemoryMappedSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
             () -> new MemoryMappedSeekableSource(this));
     private long position;
 
     public MemoryMappedSeekableSource(Path path) throws IOException {
+        this(path, SeekableSourceOptions.defaults());
+    }
+
+    public MemoryMappedSeekableSource(Path path, Lifecycle lifecycle) throws IOException {
+        this(path, SeekableSourceOptions.builder().mappedLifecycle(lifecycle).build());
+    }
+
+    /**
+     * Maps the file using the page size and lifecycle of the given options
+     */
+    public MemoryMappedSeekableSource(Path path, SeekableSourceOptions options) throws IOException {
         requireNotNullArg(path, "Input path cannot be null");
+        requireNotNullArg(options, "Options cannot be null");
         super(path.toAbsolutePath().toString());
+        this.pageSize = options.mappedPageSize();
+        this.lifecycle = options.mappedLifecycle();
+        this.owner = lifecycle == Lifecycle.CONFINED ? Thread.currentThread() : null;
+        this.pages = new ArrayList<>();
         try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
             this.size = channel.size();
             int zeroBasedPagesNumber = (int) (channel.size() / pageSize);
-            arena = Arena.ofShared();
+            arena = switch (lifecycle) {
+                case SHARED -> Arena.ofShared();
+                case CONFINED -> Arena.ofConfined();
+                case AUTO -> Arena.ofAuto();
+            };
             for (int i = 0; i <= zeroBasedPagesNumber; i++) {
                 if (i == zeroBasedPagesNumber) {
-                    pages.add(i, channel.map(MapMode.READ_ONLY, i * pageSize, channel.size() - (i * pageSize), arena)
-                                    .asByteBuffer());
+                    pages.add(i, channel.map(MapMode.READ_ONLY, i * pageSize, channel.size() - (i * pageSize), arena));
                 } else {
-                    pages.add(i, channel.map(MapMode.READ_ONLY, i * pageSize, pageSize, arena).asByteBuffer());
+                    pages.add(i, channel.map(MapMode.READ_ONLY, i * pageSize, pageSize, arena));
                 }
             }
             LOG.debug("Created MemoryMappedSeekableSource with {} pages", pages.size());
         }
+        this.reservation = MemoryBudget.global().reserve(this, MemoryBudget.Category.MAPPED, size);
     }
 
     public MemoryMappedSeekableSource(File file) throws IOException {
@@ -79,14 +134,139 @@ public class MemoryMappedSeekableSource extends BaseSeekableSource {
     }
 
     private MemoryMappedSeekableSource(MemoryMappedSeekableSource parent) {
-        super(parent.id());
+        super(parent);
+        this.pageSize = parent.pageSize;
+        this.lifecycle = parent.lifecycle;
         this.size = parent.size;
-        for (ByteBuffer page : parent.pages) {
-            this.pages.add(page.duplicate());
-        }
+        this.pages = parent.pages;
         this.arena = null;
+        this.reservation = null;
+        this.owner = parent.owner;
     }
 
+    /**
+     * Loads the whole mapped file in physical memory, touching its pages in parallel. This avoids paying the serial page faults latency on the first pass over a cold file.
+     *
+     * @see #warm(long, long)
+     */
+    public void load() throws IOException {
+        load(0, size);
+    }
+
+    /**
+     * Loads the given range of the mapped file in physical memory, touching its pages in parallel and blocking until they are resident.
+     *
+     * @see #warm(long, long)
+     */
+    public void load(long position, long length) throws IOException {
+        requireOpen();
+        requireOwner();
+        LoadTask task = loadTask(position, length);
+        if (lifecycle == Lifecycle.CONFINED) {
+            loadRange(task.from, task.to);
+        } else {
+            task.invoke();
+        }
+    }
+
+    /**
+     * Asynchronously loads the given range of the mapped file in physical memory. The range is split in chunks that are loaded in parallel using the common
+     * {@link ForkJoinPool}.
+     *
+     * @param position
+     *            a non-negative position where the range starts
+     * @param length
+     *            a non-negative length of the range, trimmed to the size of the source
+     * @return a future that completes when the range is resident in memory. {@link Lifecycle#CONFINED} sources load the range on the calling thread and return a completed
+     *         future.
+     */
+    public CompletableFuture<Void> warm(long position, long length) throws IOException {
+        requireOpen();
+        requireOwner();
+        if (lifecycle == Lifecycle.CONFINED) {
+            load(position, length);
+            return CompletableFuture.completedFuture(null);
+        }
+        LoadTask task = loadTask(position, length);
+        return CompletableFuture.runAsync(task::invoke, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Asynchronously loads the given ranges in physical memory
+     *
+     * @see #warm(long, long)
+     */
+    @Override
+    public void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+        for (ByteRange range : ranges) {
+            warm(range.position(), range.length());
+        }
+    }
+
+    /**
+     * Unloads the given range from physical memory, it's loaded again from the file when accessed
+     */
+    @Override
+    public void dontNeed(ByteRange range) throws IOException {
+        requireOpen();
+        requireOwner();
+        ByteRange trimmed = range.translate(0, size);
+        long current = trimmed.position();
+        while (current < trimmed.end()) {
+            int zeroBasedPagesNumber = (int) (current / pageSize);
+            long relativePosition = current - (zeroBasedPagesNumber * pageSize);
+            MemorySegment page = pages.get(zeroBasedPagesNumber);
+            long length = Math.min(trimmed.end() - current, page.byteSize() - relativePosition);
+            page.asSlice(relativePosition, length).unload();
+            current += length;
+        }
+    }
+
+    LoadTask loadTask(long position, long length) {
+        requireArg(position >= 0, "Cannot load a range starting at a negative position");
+        requireArg(length >= 0, "Cannot load a range with a negative length");
+        long from = Math.min(position, size);
+        return new LoadTask(from, from + Math.min(length, size - from));
+    }
+
+    /**
+     * Loads the [from, to) range splitting it into chunks loaded in parallel
+     */
+    class LoadTask extends RecursiveAction {
+        final long from;
+        final long to;
+
+        LoadTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LOAD_CHUNK_SIZE) {
+                long half = from + ((to - from) / 2);
+                invokeAll(new LoadTask(from, half), new LoadTask(half, to));
+            } else {
+                loadRange(from, to);
+            }
+        }
+    }
+
+    /**
+     * Loads the [from, to) range on the calling thread
+     */
+    private void loadRange(long from, long to) {
+        long current = from;
+        while (current < to) {
+            int zeroBasedPagesNumber = (int) (current / pageSize);
+            long relativePosition = current - (zeroBasedPagesNumber * pageSize);
+            MemorySegment page = pages.get(zeroBasedPagesNumber);
+            long length = Math.min(to - current, page.byteSize() - relativePosition);
+            page.asSlice(relativePosition, length).load();
+            current += length;
+        }
+    }
 
     @Override
     public long position() {
@@ -109,9 +289,9 @@ public class MemoryMappedSeekableSource extends BaseSeekableSource {
     public int read(ByteBuffer dst) throws IOException {
         requireOpen();
         int zeroBasedPagesNumber = (int) (position() / pageSize);
-        ByteBuffer page = pages.get(zeroBasedPagesNumber);
-        int relativePosition = (int) (position() - (zeroBasedPagesNumber * pageSize));
-        if (relativePosition < page.limit()) {
+        MemorySegment page = pages.get(zeroBasedPagesNumber);
+        long relativePosition = position() - (zeroBasedPagesNumber * pageSize);
+        if (relativePosition < page.byteSize()) {
             int read = readPage(dst, zeroBasedPagesNumber, relativePosition);
             while (dst.hasRemaining()) {
                 int readBytes = readPage(dst, ++zeroBasedPagesNumber, 0);
@@ -126,15 +306,13 @@ public class MemoryMappedSeekableSource extends BaseSeekableSource {
         return -1;
     }
 
-    private int readPage(ByteBuffer dst, int pageNumber, int bufferPosition) {
+    private int readPage(ByteBuffer dst, int pageNumber, long pagePosition) {
         if (pageNumber < pages.size()) {
-            ByteBuffer page = pages.get(pageNumber);
-            page.position(bufferPosition);
-            if (page.hasRemaining()) {
-                int toRead = Math.min(dst.remaining(), page.remaining());
-                byte[] bufToRead = new byte[toRead];
-                page.get(bufToRead);
-                dst.put(bufToRead);
+            MemorySegment page = pages.get(pageNumber);
+            int toRead = (int) Math.min(dst.remaining(), page.byteSize() - pagePosition);
+            if (toRead > 0) {
+                MemorySegment.copy(page, pagePosition, MemorySegment.ofBuffer(dst), 0, toRead);
+                dst.position(dst.position() + toRead);
                 return toRead;
             }
         }
@@ -145,27 +323,127 @@ public class MemoryMappedSeekableSource extends BaseSeekableSource {
     public int read() throws IOException {
         requireOpen();
         int zeroBasedPagesNumber = (int) (position() / pageSize);
-        ByteBuffer page = pages.get(zeroBasedPagesNumber);
-        int relativePosition = (int) (position() - (zeroBasedPagesNumber * pageSize));
-        if (relativePosition < page.limit()) {
+        MemorySegment page = pages.get(zeroBasedPagesNumber);
+        long relativePosition = position() - (zeroBasedPagesNumber * pageSize);
+        if (relativePosition < page.byteSize()) {
             position++;
-            return page.get(relativePosition);
+            return page.get(ValueLayout.JAVA_BYTE, relativePosition) & 0xff;
         }
         return -1;
     }
 
+    @Override
+    public long readAsciiLong() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parse(parser.reset(false)).longValue();
+        } catch (NumberFormatException e) {
+            position = start;
+            throw e;
+        }
+    }
+
+    @Override
+    public double readAsciiDouble() throws IOException {
+        requireOpen();
+        long start = position;
+        try {
+            return parse(parser.reset(true)).doubleValue();
+        } catch (NumberFormatException e) {
+            position = start;
+            throw e;
+        }
+    }
+
+    private AsciiNumberParser parse(AsciiNumberParser parser) {
+        int zeroBasedPagesNumber = (int) (position / pageSize);
+        MemorySegment page = pages.get(zeroBasedPagesNumber);
+        long relativePosition = position - (zeroBasedPagesNumber * pageSize);
+        while (position < size) {
+            if (relativePosition == page.byteSize()) {
+                page = pages.get(++zeroBasedPagesNumber);
+                relativePosition = 0;
+            }
+            if (!parser.accept(page.get(ValueLayout.JAVA_BYTE, relativePosition) & 0xff)) {
+                break;
+            }
+            relativePosition++;
+            position++;
+        }
+        return parser;
+    }
+
+    /**
+     * @throws WrongThreadException
+     *             if the source is {@link Lifecycle#CONFINED} and it's closed by a thread other than the one that created it, the source is left open
+     */
     @Override
     public void close() throws IOException {
+        requireOwner();
+        boolean release = !isCursor() && isOpen();
         super.close();
         IOUtils.close(localCopiesSupplier);
-        ofNullable(arena).filter(a -> a.scope().isAlive()).ifPresent(Arena::close);
-        this.pages.clear();
+        if (release) {
+            if (lifecycle != Lifecycle.AUTO) {
+                arena.close();
+            }
+            reservation.clean();
+        }
+        if (!isCursor()) {
+            this.pages.clear();
+        }
     }
 
     @Override
     public SeekableSource view(long startingPosition, long length) throws IOException {
         requireOpen();
+        requireOwner();
         return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length);
     }
 
+    /**
+     * @return true unless the source is {@link Lifecycle#CONFINED}, whose memory can't be read by other threads
+     */
+    @Override
+    public boolean supportsCursors() {
+        return lifecycle != Lifecycle.CONFINED;
+    }
+
+    /**
+     * @throws UnsupportedOperationException
+     *             if the source is {@link Lifecycle#CONFINED}
+     */
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        if (lifecycle == Lifecycle.CONFINED) {
+            throw new UnsupportedOperationException("Cursors are not supported by confined memory mapped sources");
+        }
+        return new MemoryMappedSeekableSource(this);
+    }
+
+    private void requireOwner() {
+        if (owner != null && owner != Thread.currentThread()) {
+            throw new WrongThreadException(
+                    "Confined memory mapped source " + id() + " can only be used by the thread that created it");
+        }
+    }
+
+    /**
+     * A zero-copy slice is returned when the requested bytes belong to a single page, otherwise the bytes are copied.
+     */
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        int sliceLength = SeekableSourceSlice.length(this, position, length);
+        int zeroBasedPagesNumber = (int) (Math.min(position, size) / pageSize);
+        MemorySegment page = pages.get(zeroBasedPagesNumber);
+        long relativePosition = Math.min(position, size) - (zeroBasedPagesNumber * pageSize);
+        if (relativePosition + sliceLength <= page.byteSize()) {
+            return SeekableSourceSlice.of(page.asSlice(relativePosition, sliceLength));
+        }
+        return SeekableSourceSlice.copyOf(this, position, length);
+    }
+
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Finds every occurrence of a set of byte patterns in a {@link SeekableSource} (ex. {@code obj}, {@code endobj}, {@code xref}, {@code trailer} when rebuilding a broken xref
+ * table). Patterns are matched in a single pass with an Aho-Corasick automaton. Sources supporting {@link SeekableSource#cursor()} are split in chunks that are scanned in
+ * parallel on the common {@link ForkJoinPool}, each chunk is scanned a bit past its end so that occurrences straddling two chunks are found by the chunk where they start.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Andrea Vacondio
+ */
+public final class MultiPatternScanner {
+    private static final int CHUNK_SIZE = 1 << 22;
+    private static final int SLICE_SIZE = 1 << 16;
+    private static final int ALPHABET = 256;
+
+    private final int patternsCount;
+    private final int maxLength;
+    private final int[] lengths;
+    /**
+     * Flattened transitions of the automaton, the next state is {@code transitions[state * 256 + byte]}
+     */
+    private final int[] transitions;
+    /**
+     * Indexes of the patterns ending at each state, null if none
+     */
+    private final int[][] outputs;
+
+    /**
+     * @param patterns
+     *            non empty patterns to look for
+     */
+    public MultiPatternScanner(byte[]... patterns) {
+        requireNotNullArg(patterns, "Patterns cannot be null");
+        requireArg(patterns.length > 0, "At least one pattern is required");
+        this.patternsCount = patterns.length;
+        this.lengths = new int[patterns.length];
+        int maxStates = 1;
+        int max = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            requireArg(patterns[i] != null && patterns[i].length > 0, "Patterns cannot be empty");
+            lengths[i] = patterns[i].length;
+            maxStates += patterns[i].length;
+            max = Math.max(max, patterns[i].length);
+        }
+        this.maxLength = max;
+
+        int[] trie = new int[maxStates * ALPHABET];
+        Arrays.fill(trie, -1);
+        List<int[]> stateOutputs = new ArrayList<>();
+        stateOutputs.add(null);
+        int states = 1;
+        for (int i = 0; i < patterns.length; i++) {
+            int state = 0;
+            for (byte b : patterns[i]) {
+                int index = state * ALPHABET + (b & 0xff);
+                if (trie[index] < 0) {
+                    trie[index] = states++;
+                    stateOutputs.add(null);
+                }
+                state = trie[index];
+            }
+            stateOutputs.set(state, append(stateOutputs.get(state), i));
+        }
+
+        // breadth first completion of the transitions using the failure links
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int b = 0; b < ALPHABET; b++) {
+            if (trie[b] < 0) {
+                trie[b] = 0;
+            } else {
+                failure[trie[b]] = 0;
+                queue.add(trie[b]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = stateOutputs.get(failure[state]);
+            if (inherited != null) {
+                for (int pattern : inherited) {
+                    stateOutputs.set(state, append(stateOutputs.get(state), pattern));
+                }
+            }
+            for (int b = 0; b < ALPHABET; b++) {
+                int index = state * ALPHABET + b;
+                int next = trie[index];
+                if (next < 0) {
+                    trie[index] = trie[failure[state] * ALPHABET + b];
+                } else {
+                    failure[next] = trie[failure[state] * ALPHABET + b];
+                    queue.add(next);
+                }
+            }
+        }
+        this.transitions = Arrays.copyOf(trie, states * ALPHABET);
+        this.outputs = stateOutputs.toArray(new int[0][]);
+    }
+
+    /**
+     * @return a scanner for the given ASCII patterns
+     */
+    public static MultiPatternScanner ofAscii(String... patterns) {
+        requireNotNullArg(patterns, "Patterns cannot be null");
+        byte[][] bytes = new byte[patterns.length][];
+        for (int i = 0; i < patterns.length; i++) {
+            requireNotNullArg(patterns[i], "Patterns cannot be null");
+            bytes[i] = patterns[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return new MultiPatternScanner(bytes);
+    }
+
+    /**
+     * Scans the whole source. The source position is not affected.
+     *
+     * @return for each pattern, in the order they were given, the sorted offsets where the pattern starts
+     */
+    public long[][] scan(SeekableSource source) throws IOException {
+        return scan(source, CHUNK_SIZE);
+    }
+
+    long[][] scan(SeekableSource source, int chunkSize) throws IOException {
+        requireNotNullArg(source, "Cannot scan a null source");
+        source.requireOpen();
+        if (source.size() > chunkSize && source.supportsCursors()) {
+            try {
+                return ForkJoinPool.commonPool().invoke(new ScanTask(source, 0, source.size(), chunkSize)).toArrays();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        long position = source.position();
+        try {
+            return scan(source, 0, source.size()).toArrays();
+        } finally {
+            source.position(position);
+        }
+    }
+
+    /**
+     * Scans the source from the given start with a fresh automaton, reading up to {@code maxLength - 1} bytes past the end, and collects occurrences starting in
+     * {@code [start, end)}.
+     */
+    private Matches scan(SeekableSource source, long start, long end) throws IOException {
+        Matches matches = new Matches(patternsCount);
+        long limit = Math.min(source.size(), end + maxLength - 1);
+        int state = 0;
+        for (long position = start; position < limit; ) {
+            try (SeekableSourceSlice slice = source.slice(position, (int) Math.min(SLICE_SIZE, limit - position))) {
+                ByteBuffer bytes = slice.asByteBuffer();
+                int size = bytes.limit();
+                if (size == 0) {
+                    break;
+                }
+                for (int i = 0; i < size; i++) {
+                    state = transitions[state * ALPHABET + (bytes.get(i) & 0xff)];
+                    int[] found = outputs[state];
+                    if (found != null) {
+                        for (int pattern : found) {
+                            long offset = position + i - lengths[pattern] + 1;
+                            if (offset >= start && offset < end) {
+                                matches.add(pattern, offset);
+                            }
+                        }
+                    }
+                }
+                position += size;
+            }
+        }
+        return matches;
+    }
+
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[] { value };
+        }
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    /**
+     * Sorted offsets found for each pattern
+     */
+    private static final class Matches {
+        private final long[][] offsets;
+        private final int[] sizes;
+
+        Matches(int patterns) {
+            this.offsets = new long[patterns][16];
+            this.sizes = new int[patterns];
+        }
+
+        void add(int pattern, long offset) {
+            if (sizes[pattern] == offsets[pattern].length) {
+                offsets[pattern] = Arrays.copyOf(offsets[pattern], offsets[pattern].length * 2);
+            }
+            offsets[pattern][sizes[pattern]++] = offset;
+        }
+
+        /**
+         * Appends the given matches, found after the ones of this instance
+         */
+        Matches append(Matches following) {
+            for (int pattern = 0; pattern < offsets.length; pattern++) {
+                int size = sizes[pattern] + following.sizes[pattern];
+                if (size > offsets[pattern].length) {
+                    offsets[pattern] = Arrays.copyOf(offsets[pattern], size);
+                }
+                System.arraycopy(following.offsets[pattern], 0, offsets[pattern], sizes[pattern],
+                        following.sizes[pattern]);
+                sizes[pattern] = size;
+            }
+            return this;
+        }
+
+        long[][] toArrays() {
+            long[][] result = new long[offsets.length][];
+            for (int pattern = 0; pattern < offsets.length; pattern++) {
+                result[pattern] = Arrays.copyOf(offsets[pattern], sizes[pattern]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Splits the range in halves until it's no bigger than a chunk, chunks are scanned on their own cursor
+     */
+    private class ScanTask extends RecursiveTask<Matches> {
+        private final SeekableSource source;
+        private final long start;
+        private final long end;
+        private final int chunkSize;
+
+        ScanTask(SeekableSource source, long start, long end, int chunkSize) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Matches compute() {
+            if (end - start <= chunkSize) {
+                try (SeekableSource cursor = source.cursor()) {
+                    return scan(cursor, start, end);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            long middle = start + ((end - start) / 2);
+            ScanTask left = new ScanTask(source, start, middle, chunkSize);
+            ScanTask right = new ScanTask(source, middle, end, chunkSize);
+            right.fork();
+            return left.compute().append(right.join());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+
+import java.io.IOException;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+
+/**
+ * An {@link OffsettableSeekableSource} fusing the offset into the buffering of a {@link BufferedSeekableSource}. It reads the same wrapped source of the given buffered source
+ * through a window starting at the offset, so reads don't go through an additional decorator. The buffered source is closed when this source is closed.
+ *
+ * @author Andrea Vacondio
+ */
+final class OffsettableBufferedSeekableSource extends BufferedSeekableSource implements OffsettableSeekableSource {
+    private final BufferedSeekableSource source;
+    private final long baseStart;
+    private final long baseSize;
+
+    OffsettableBufferedSeekableSource(BufferedSeekableSource source) {
+        super(source.wrapped(), source.start(), source.size(), source.options());
+        this.source = source;
+        this.baseStart = source.start();
+        this.baseSize = source.size();
+        window(baseStart, baseSize, source.position());
+    }
+
+    /**
+     * Sets the offset. As for {@link OffsettableSeekableSourceImpl}, the position in the original source before the call becomes the position relative to the new offset, so
+     * the source moves forward by offset bytes in the original source
+     */
+    @Override
+    public void offset(long offset) {
+        requireArg(offset >= 0, "Cannot set a negative offset");
+        requireArg((baseSize - offset) >= 0, "Invalid offset bigger then the wrapped source size");
+        window(baseStart + offset, baseSize - offset, (start() - baseStart) + position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(source);
+    }
+}
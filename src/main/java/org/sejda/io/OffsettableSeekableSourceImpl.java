@@ -19,6 +19,7 @@ import org.sejda.commons.util.IOUtils;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import static org.sejda.commons.util.RequireUtils.requireArg;
 import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
@@ -81,11 +82,51 @@ class OffsettableSeekableSourceImpl implements OffsettableSeekableSource {
         return this.wrapped.read();
     }
 
+    @Override
+    public long readAsciiLong() throws IOException {
+        return this.wrapped.readAsciiLong();
+    }
+
+    @Override
+    public double readAsciiDouble() throws IOException {
+        return this.wrapped.readAsciiDouble();
+    }
+
     @Override
     public SeekableSource view(long startingPosition, long length) throws IOException {
         return this.wrapped.view(startingPosition + offset, length);
     }
 
+    @Override
+    public boolean supportsCursors() {
+        return this.wrapped.supportsCursors();
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        OffsettableSeekableSourceImpl cursor = new OffsettableSeekableSourceImpl(this.wrapped.cursor());
+        cursor.offset(offset);
+        return cursor;
+    }
+
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        return this.wrapped.slice(position + offset, SeekableSourceSlice.length(this, position, length));
+    }
+
+    @Override
+    public void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+        long size = size();
+        this.wrapped.willNeed(ranges.stream().map(r -> r.translate(offset, size)).toList());
+    }
+
+    @Override
+    public void dontNeed(ByteRange range) throws IOException {
+        requireOpen();
+        this.wrapped.dontNeed(range.translate(offset, size()));
+    }
+
     @Override
     public int read(ByteBuffer dst) throws IOException {
         return this.wrapped.read(dst);
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A {@link SeekableSource} over a temporary file that is filled from an {@link InputStream} by a background thread. The source is readable as soon as it's created: reads of
+ * bytes that have already been copied proceed immediately while reads beyond the copied watermark block until the bytes arrive or the copy ends. This lets parsing of the
+ * beginning of the file overlap with the rest of the transfer. Reads are served from an internal buffer, so the source doesn't need to be wrapped in a
+ * {@link BufferedSeekableSource}.
+ * <p>
+ * When the size is not known up front, {@link #size()} blocks until the whole stream has been copied, while moving back and forward, peeking, slicing, creating views and
+ * reading from {@link #asInputStream()} only wait for the bytes they need. The temporary file is anonymous (see
+ * {@link SeekableSources#anonymousTempFileSeekableSourceFrom(InputStream)}) and its storage is released when the source is closed. It's a file on disk unless
+ * {@link SeekableSources#ENABLE_MEMFD_PROPERTY} makes it a memfd on Linux, meaning the whole stream ends up in RAM (or swap).
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public class ProgressiveTempFileSeekableSource extends BaseSeekableSource {
+    private static final Logger LOG = LoggerFactory.getLogger(ProgressiveTempFileSeekableSource.class);
+    private static final int COPY_CHUNK_SIZE = 1 << 16;
+
+    private final Transfer transfer;
+    private final ByteBuffer buffer;
+    private long bufferPosition;
+    private long position;
+    private final ThreadBoundCopiesSupplier<ProgressiveTempFileSeekableSource> localCopiesSupplier = new ThreadBoundCopiesSupplier<>(
+            () -> new ProgressiveTempFileSeekableSource(this));
+
+    /**
+     * Creates a source of unknown size, {@link #size()} blocks until the whole stream has been copied.
+     */
+    public ProgressiveTempFileSeekableSource(InputStream stream) throws IOException {
+        this(stream, -1);
+    }
+
+    /**
+     * @param size
+     *            the number of bytes of the stream or a negative value if unknown. A stream with a different number of bytes makes reads beyond its end fail.
+     */
+    public ProgressiveTempFileSeekableSource(InputStream stream, long size) throws IOException {
+        this(stream, size, SeekableSourceOptions.defaults());
+    }
+
+    /**
+     * @param size
+     *            the number of bytes of the stream or a negative value if unknown. A stream with a different number of bytes makes reads beyond its end fail.
+     * @param options
+     *            the options giving size and type of the buffer reads are served from
+     */
+    public ProgressiveTempFileSeekableSource(InputStream stream, long size, SeekableSourceOptions options)
+            throws IOException {
+        requireNotNullArg(stream, "Input stream cannot be null");
+        requireNotNullArg(options, "Options cannot be null");
+        this(stream, size, options, AnonymousTempFiles.create("SejdaIO"));
+    }
+
+    private ProgressiveTempFileSeekableSource(InputStream stream, long size, SeekableSourceOptions options,
+            AnonymousTempFiles.TempFile temp) {
+        super(temp.id());
+        this.transfer = new Transfer(stream, temp, size);
+        this.buffer = options.directBuffers() ?
+                ByteBuffer.allocateDirect(options.inputBufferSize()) :
+                ByteBuffer.allocate(options.inputBufferSize());
+        this.buffer.limit(0);
+        Thread.ofPlatform().daemon().name("sejda-io-progressive-copy").start(transfer);
+    }
+
+    private ProgressiveTempFileSeekableSource(ProgressiveTempFileSeekableSource parent) {
+        super(parent);
+        this.transfer = parent.transfer;
+        this.buffer = parent.buffer.isDirect() ?
+                ByteBuffer.allocateDirect(parent.buffer.capacity()) :
+                ByteBuffer.allocate(parent.buffer.capacity());
+        this.buffer.limit(0);
+    }
+
+    /**
+     * @return the number of bytes copied so far
+     */
+    public long copied() {
+        return transfer.watermark;
+    }
+
+    /**
+     * @return true if the copy ended, successfully or not
+     */
+    public boolean isCopyComplete() {
+        return transfer.done;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public SeekableSource position(long newPosition) {
+        requireArg(newPosition >= 0, "Cannot set position to a negative value");
+        this.position = newPosition;
+        return this;
+    }
+
+    /**
+     * @return the size given when creating the source or, if unknown, the size of the stream once it's been entirely copied
+     * @throws UncheckedIOException
+     *             if the size is unknown and the copy failed or the thread has been interrupted while waiting
+     */
+    @Override
+    public long size() {
+        if (transfer.size >= 0) {
+            return transfer.size;
+        }
+        try {
+            return transfer.awaitCompletion();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for the copy to end
+     *
+     * @return the number of copied bytes
+     */
+    long awaitCompletion() throws IOException {
+        return transfer.awaitCompletion();
+    }
+
+    /**
+     * Waits, if necessary, for the bytes up to the given position to be copied or for the copy to end.
+     *
+     * @return the number of bytes known to exist, that is at least the given position unless it's past the end of the stream
+     */
+    private long available(long position) throws IOException {
+        if (transfer.size >= 0) {
+            return transfer.size;
+        }
+        if (position <= transfer.watermark) {
+            return transfer.watermark;
+        }
+        return transfer.await(position - 1);
+    }
+
+    /**
+     * Moves back or, with a negative offset, forward. Moving forward only waits for the bytes up to the new position to be copied.
+     */
+    @Override
+    public SeekableSource back(long offset) throws IOException {
+        long newPosition = position - offset;
+        if (newPosition < 0 || newPosition > available(newPosition)) {
+            throw new IllegalArgumentException(
+                    "Going back would move to " + newPosition + ", outside of source boundaries");
+        }
+        position(newPosition);
+        return this;
+    }
+
+    @Override
+    public int peek() throws IOException {
+        int value = read();
+        if (value != -1) {
+            position--;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        requireOpen();
+        int read = 0;
+        while (dst.hasRemaining() && ensureBuffer() > 0) {
+            int offset = (int) (position - bufferPosition);
+            int toCopy = Math.min(dst.remaining(), buffer.limit() - offset);
+            dst.put(dst.position(), buffer, offset, toCopy);
+            dst.position(dst.position() + toCopy);
+            position += toCopy;
+            read += toCopy;
+        }
+        if (read == 0 && dst.hasRemaining()) {
+            return -1;
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        requireOpen();
+        if (ensureBuffer() > 0) {
+            return buffer.get((int) (position++ - bufferPosition)) & 0xff;
+        }
+        return -1;
+    }
+
+    /**
+     * Makes sure the buffer contains the byte at the current position, waiting for it to be copied if necessary.
+     *
+     * @return the number of bytes available in the buffer from the current position
+     */
+    private int ensureBuffer() throws IOException {
+        if (position < bufferPosition || position >= bufferPosition + buffer.limit()) {
+            if (transfer.size >= 0 && position >= transfer.size) {
+                return 0;
+            }
+            long available = transfer.await(position);
+            if (position >= available) {
+                return 0;
+            }
+            bufferPosition = position;
+            buffer.clear().limit((int) Math.min(buffer.capacity(), available - position));
+            while (buffer.hasRemaining()) {
+                if (transfer.channel.read(buffer, bufferPosition + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+        return (int) Math.max(0, bufferPosition + buffer.limit() - position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        IOUtils.close(localCopiesSupplier);
+        if (!isCursor()) {
+            transfer.close();
+        }
+        buffer.clear().limit(0);
+    }
+
+    /**
+     * The view only waits for the bytes it covers to be copied
+     */
+    @Override
+    public SeekableSource view(long startingPosition, long length) throws IOException {
+        requireOpen();
+        requireArg(startingPosition >= 0, "Starting position cannot be negative");
+        requireArg(length > 0, "View length must be positive");
+        return new SeekableSourceView(localCopiesSupplier, id(), startingPosition, length,
+                available(end(startingPosition, length)));
+    }
+
+    /**
+     * The slice only waits for the bytes it covers to be copied
+     */
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        requireArg(position >= 0, "Slice position cannot be negative");
+        requireArg(length >= 0, "Slice length cannot be negative");
+        long available = available(end(position, length));
+        return SeekableSourceSlice.copy(this, position, (int) Math.min(length, Math.max(0, available - position)));
+    }
+
+    /**
+     * The stream doesn't need the size of the source, a read only waits for the first requested byte to be copied and returns the bytes copied so far, up to the requested
+     * length. Skipping only waits for the skipped bytes.
+     */
+    @Override
+    public InputStream asInputStream() {
+        return new SequentialSeekableSourceInputStream(this) {
+            @Override
+            public int read(byte[] b, int offset, int length) throws IOException {
+                return super.read(b, offset, (int) Math.min(length, Math.max(1, transfer.watermark - position)));
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, Math.max(0, transfer.watermark - position));
+            }
+        };
+    }
+
+    private static long end(long position, long length) {
+        long end = position + length;
+        return end < 0 ? Long.MAX_VALUE : end;
+    }
+
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new ProgressiveTempFileSeekableSource(this);
+    }
+
+    /**
+     * Copy of the stream to the temporary file, it keeps track of the copied watermark and wakes up readers waiting for it.
+     */
+    private static final class Transfer implements Runnable {
+        private final InputStream stream;
+        private final String temp;
+        private final FileChannel channel;
+        private final long size;
+        private volatile long watermark;
+        private volatile boolean done;
+        private volatile boolean closed;
+        private IOException failure;
+
+        Transfer(InputStream stream, AnonymousTempFiles.TempFile temp, long size) {
+            this.stream = stream;
+            this.temp = temp.id();
+            this.size = size;
+            this.channel = temp.channel();
+        }
+
+        @Override
+        public void run() {
+            byte[] chunk = new byte[COPY_CHUNK_SIZE];
+            try (stream) {
+                int read;
+                while (!closed && (read = stream.read(chunk)) != -1) {
+                    ByteBuffer src = ByteBuffer.wrap(chunk, 0, read);
+                    while (src.hasRemaining()) {
+                        channel.write(src, watermark + src.position());
+                    }
+                    advance(read);
+                }
+                if (!closed && size >= 0 && watermark != size) {
+                    throw new IOException(
+                            "Expected a stream of " + size + " bytes but " + watermark + " bytes were copied");
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.error("Unable to copy the stream to {}", temp, e);
+                    failure = e;
+                }
+            } finally {
+                complete();
+            }
+        }
+
+        private synchronized void advance(int read) {
+            watermark += read;
+            notifyAll();
+        }
+
+        private synchronized void complete() {
+            done = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits for the byte at the given position to be copied or for the copy to end.
+         *
+         * @return the copied watermark
+         */
+        long await(long position) throws IOException {
+            if (position < watermark) {
+                return watermark;
+            }
+            synchronized (this) {
+                while (position >= watermark && !done) {
+                    waitForProgress();
+                }
+                if (position >= watermark && failure != null) {
+                    throw new IOException("Unable to copy the stream", failure);
+                }
+                return watermark;
+            }
+        }
+
+        /**
+         * Waits for the copy to end
+         *
+         * @return the number of copied bytes
+         */
+        synchronized long awaitCompletion() throws IOException {
+            while (!done) {
+                waitForProgress();
+            }
+            if (failure != null) {
+                throw new IOException("Unable to copy the stream", failure);
+            }
+            return watermark;
+        }
+
+        private void waitForProgress() throws InterruptedIOException {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the stream to be copied");
+            }
+        }
+
+        void close() {
+            closed = true;
+            IOUtils.closeQuietly(channel);
+            complete();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32C;
+
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Index of ranges of one or more {@link SeekableSource}s by the hash of their content, used to find ranges with identical bytes (ex. the same font or logo embedded in
+ * many documents that are merged) without decoding them. The hash of a range is the hardware accelerated CRC32C of its bytes in the low 32 bits and its length in the
+ * high 32 bits. Ranges with the same hash are compared byte by byte before being reported as duplicates, so hash collisions only cost a comparison. Instances are not
+ * thread safe.
+ *
+ * @author Andrea Vacondio
+ */
+public final class RangeHashIndex {
+    private static final int CHUNK_SIZE = 1 << 22;
+    private static final int SLICE_SIZE = 1 << 16;
+
+    private final Map<Long, List<Entry>> entries = new HashMap<>();
+
+    /**
+     * A range of an indexed source
+     */
+    public record Entry(SeekableSource source, ByteRange range) {
+
+        boolean sameContentAs(Entry other) throws IOException {
+            return range.length() == other.range.length() && source.rangeEquals(other.source, range.position(),
+                    other.range.position(), range.length());
+        }
+
+        boolean sameAs(Entry other) {
+            return source == other.source && range.equals(other.range);
+        }
+    }
+
+    /**
+     * Hashes the given ranges of the source and adds them to the index. Ranges are trimmed to the source size.
+     *
+     * @return the hashes of the ranges, in the order they were given
+     * @see #hash(SeekableSource, List)
+     */
+    public long[] add(SeekableSource source, List<ByteRange> ranges) throws IOException {
+        long[] hashes = hash(source, ranges);
+        for (int i = 0; i < hashes.length; i++) {
+            entries.computeIfAbsent(hashes[i], k -> new ArrayList<>(1))
+                    .add(new Entry(source, trim(source, ranges.get(i))));
+        }
+        return hashes;
+    }
+
+    /**
+     * @return an indexed range, other than the given one, with the same bytes of the given range of the source
+     */
+    public Optional<Entry> find(SeekableSource source, ByteRange range) throws IOException {
+        requireNotNullArg(range, "Range cannot be null");
+        long hash = hash(source, List.of(range))[0];
+        Entry entry = new Entry(source, trim(source, range));
+        for (Entry candidate : entries.getOrDefault(hash, List.of())) {
+            if (!candidate.sameAs(entry) && candidate.sameContentAs(entry)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return groups of indexed ranges with identical bytes, groups have at least two ranges listed in the order they were added
+     */
+    public List<List<Entry>> duplicates() throws IOException {
+        List<List<Entry>> duplicates = new ArrayList<>();
+        for (List<Entry> bucket : entries.values()) {
+            if (bucket.size() > 1) {
+                List<List<Entry>> groups = new ArrayList<>();
+                for (Entry entry : bucket) {
+                    List<Entry> group = null;
+                    for (int i = 0; i < groups.size() && group == null; i++) {
+                        if (groups.get(i).getFirst().sameContentAs(entry)) {
+                            group = groups.get(i);
+                        }
+                    }
+                    if (group != null) {
+                        group.add(entry);
+                    } else {
+                        groups.add(new ArrayList<>(List.of(entry)));
+                    }
+                }
+                groups.stream().filter(g -> g.size() > 1).forEach(duplicates::add);
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Hashes the given ranges of the source, trimmed to the source size. Sources supporting {@link SeekableSource#cursor()} hash groups of ranges in parallel on the common
+     * {@link ForkJoinPool}, each group on its own cursor. The source position is not affected.
+     *
+     * @return the hashes of the ranges, in the order they were given
+     */
+    public static long[] hash(SeekableSource source, List<ByteRange> ranges) throws IOException {
+        return hash(source, ranges, CHUNK_SIZE);
+    }
+
+    static long[] hash(SeekableSource source, List<ByteRange> ranges, int chunkSize) throws IOException {
+        requireNotNullArg(source, "Cannot hash a null source");
+        requireNotNullArg(ranges, "Ranges cannot be null");
+        source.requireOpen();
+        ByteRange[] trimmed = ranges.stream().map(r -> trim(source, r)).toArray(ByteRange[]::new);
+        long[] hashes = new long[trimmed.length];
+        long total = 0;
+        for (ByteRange range : trimmed) {
+            total += range.length();
+        }
+        if (trimmed.length > 1 && total > chunkSize && source.supportsCursors()) {
+            try {
+                ForkJoinPool.commonPool().invoke(new HashTask(source, trimmed, hashes, 0, trimmed.length, chunkSize));
+                return hashes;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        hash(source, trimmed, hashes, 0, trimmed.length);
+        return hashes;
+    }
+
+    private static ByteRange trim(SeekableSource source, ByteRange range) {
+        requireNotNullArg(range, "Range cannot be null");
+        return range.translate(0, source.size());
+    }
+
+    private static void hash(SeekableSource source, ByteRange[] ranges, long[] hashes, int from, int to)
+            throws IOException {
+        CRC32C crc = new CRC32C();
+        // slices are bulk copied, the checksum rejects buffers of shared mapped segments and copies read-only heap buffers in small steps
+        byte[] chunk = new byte[SLICE_SIZE];
+        for (int i = from; i < to; i++) {
+            crc.reset();
+            ByteRange range = ranges[i];
+            for (long position = range.position(); position < range.end(); ) {
+                try (SeekableSourceSlice slice = source.slice(position,
+                        (int) Math.min(SLICE_SIZE, range.end() - position))) {
+                    int size = slice.size();
+                    if (size == 0) {
+                        break;
+                    }
+                    MemorySegment.copy(slice.asSegment(), ValueLayout.JAVA_BYTE, 0, chunk, 0, size);
+                    crc.update(chunk, 0, size);
+                    position += size;
+                }
+            }
+            hashes[i] = (range.length() << 32) | crc.getValue();
+        }
+    }
+
+    /**
+     * Splits the ranges in halves until they are a single range or no bigger than a chunk in total, each group is hashed on its own cursor
+     */
+    private static class HashTask extends RecursiveAction {
+        private final SeekableSource source;
+        private final ByteRange[] ranges;
+        private final long[] hashes;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        HashTask(SeekableSource source, ByteRange[] ranges, long[] hashes, int from, int to, int chunkSize) {
+            this.source = source;
+            this.ranges = ranges;
+            this.hashes = hashes;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            long total = 0;
+            for (int i = from; i < to; i++) {
+                total += ranges[i].length();
+            }
+            if (to - from == 1 || total <= chunkSize) {
+                try (SeekableSource cursor = source.cursor()) {
+                    hash(cursor, ranges, hashes, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new HashTask(source, ranges, hashes, from, middle, chunkSize),
+                        new HashTask(source, ranges, hashes, middle, to, chunkSize));
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * On disk cache of the results of expensive scans of a {@link SeekableSource} (ex. the offsets found by a {@link MultiPatternScanner}, line starts). Results are arrays of
+ * longs stored in a sidecar file of the cache directory, delta and varint encoded, and keyed by the source size and a SHA-256 fingerprint of its content. A source whose size or
+ * fingerprint changed doesn't match its old entries, so they are never returned. Cached files are loaded memory mapped.
+ * <p>
+ * By default the fingerprint is computed on the whole content. A {@link Fingerprint#SAMPLED} fingerprint, computed on the first and last 64KB and 256 blocks of 4KB evenly
+ * spread, can be requested when sources are large and known not to be modified in place: it's cheap even for multi GB sources but doesn't detect changes that preserve the
+ * size and fall outside the samples.
+ * </p>
+ *
+ * @author Andrea Vacondio
+ */
+public final class ScanIndexCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ScanIndexCache.class);
+
+    private static final int MAGIC = 0x534a4958;
+    private static final int VERSION = 1;
+    private static final int EDGE_SAMPLE_SIZE = 1 << 16;
+    private static final int SAMPLE_SIZE = 1 << 12;
+    private static final int SAMPLES = 256;
+    private static final int FULL_READ_SIZE = 1 << 16;
+
+    /**
+     * How the content of a source is fingerprinted
+     */
+    public enum Fingerprint {
+        /**
+         * The whole content is hashed
+         */
+        FULL,
+        /**
+         * Only a sample of the content is hashed, changes preserving the size and falling outside the sample are not detected
+         */
+        SAMPLED
+    }
+
+    private final Path directory;
+    private final Fingerprint fingerprint;
+
+    /**
+     * Creates a cache fingerprinting the whole content of the sources
+     *
+     * @param directory
+     *            where the cached files are stored, it's created if it doesn't exist
+     */
+    public ScanIndexCache(Path directory) throws IOException {
+        this(directory, Fingerprint.FULL);
+    }
+
+    /**
+     * @param directory
+     *            where the cached files are stored, it's created if it doesn't exist
+     * @param fingerprint
+     *            how the content of the sources is fingerprinted
+     */
+    public ScanIndexCache(Path directory, Fingerprint fingerprint) throws IOException {
+        requireNotNullArg(directory, "Cache directory cannot be null");
+        requireNotNullArg(fingerprint, "Fingerprint cannot be null");
+        this.directory = Files.createDirectories(directory);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * A scan of a source producing arrays of longs
+     */
+    @FunctionalInterface
+    public interface Scan {
+        long[][] scan(SeekableSource source) throws IOException;
+    }
+
+    /**
+     * Returns the cached result of the scan with the given name of the source or performs the scan and caches its result. The source position is not affected.
+     *
+     * @param name
+     *            identifies the scan, different scans of the same source must have different names
+     * @return the scan result
+     */
+    public long[][] computeIfAbsent(SeekableSource source, String name, Scan scan) throws IOException {
+        requireNotNullArg(scan, "Scan cannot be null");
+        Path entry = entry(source, name);
+        Optional<long[][]> cached = read(entry);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long[][] result = scan.scan(source);
+        write(entry, result);
+        return result;
+    }
+
+    /**
+     * @return the cached result of the scan with the given name of the source, if any. The source position is not affected.
+     */
+    public Optional<long[][]> load(SeekableSource source, String name) throws IOException {
+        return read(entry(source, name));
+    }
+
+    /**
+     * Caches the result of the scan with the given name of the source. The source position is not affected.
+     */
+    public void store(SeekableSource source, String name, long[][] values) throws IOException {
+        requireNotNullArg(values, "Values cannot be null");
+        write(entry(source, name), values);
+    }
+
+    private Path entry(SeekableSource source, String name) throws IOException {
+        requireNotNullArg(source, "Source cannot be null");
+        requireArg(name != null && name.matches("[A-Za-z0-9._-]+"), "Scan name must be a non blank [A-Za-z0-9._-] string");
+        source.requireOpen();
+        return directory.resolve(
+                "%016x-%s-%s-%s.idx".formatted(source.size(), fingerprint(source),
+                        fingerprint == Fingerprint.FULL ? "f" : "s", name));
+    }
+
+    /**
+     * @return the hex encoded SHA-256 of the source content or of a sample of it
+     */
+    String fingerprint(SeekableSource source) throws IOException {
+        MessageDigest digest = sha256();
+        long size = source.size();
+        if (fingerprint == Fingerprint.FULL || size <= 2L * EDGE_SAMPLE_SIZE + (long) SAMPLES * SAMPLE_SIZE) {
+            for (long position = 0; position < size; position += FULL_READ_SIZE) {
+                update(digest, source, position, FULL_READ_SIZE);
+            }
+        } else {
+            update(digest, source, 0, EDGE_SAMPLE_SIZE);
+            long step = (size - 2L * EDGE_SAMPLE_SIZE) / SAMPLES;
+            for (int i = 0; i < SAMPLES; i++) {
+                update(digest, source, EDGE_SAMPLE_SIZE + i * step, SAMPLE_SIZE);
+            }
+            update(digest, source, size - EDGE_SAMPLE_SIZE, EDGE_SAMPLE_SIZE);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, SeekableSource source, long position, int length)
+            throws IOException {
+        try (SeekableSourceSlice slice = source.slice(position, length)) {
+            digest.update(slice.asByteBuffer());
+        }
+    }
+
+    private static Optional<long[][]> read(Path entry) throws IOException {
+        try (Arena arena = Arena.ofConfined(); FileChannel channel = FileChannel.open(entry,
+                StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(MapMode.READ_ONLY, 0, channel.size(), arena);
+            Decoder decoder = new Decoder(segment);
+            if (segment.byteSize() < 8 || decoder.readInt() != MAGIC || decoder.readInt() != VERSION) {
+                throw new IOException("Not a valid index file");
+            }
+            long[][] result = new long[decoder.readCount()][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = new long[decoder.readCount()];
+                long previous = 0;
+                for (int j = 0; j < result[i].length; j++) {
+                    long delta = decoder.readVarLong();
+                    previous += (delta >>> 1) ^ -(delta & 1);
+                    result[i][j] = previous;
+                }
+            }
+            LOG.debug("Loaded cached index {}", entry);
+            return Optional.of(result);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            LOG.warn("Discarding invalid cached index {}", entry, e);
+            Files.deleteIfExists(entry);
+            return Optional.empty();
+        }
+    }
+
+    private static void write(Path entry, long[][] values) throws IOException {
+        Path temp = Files.createTempFile(entry.getParent(), "SejdaIO", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeVarLong(out, values.length);
+                for (long[] array : values) {
+                    requireNotNullArg(array, "Values cannot contain null arrays");
+                    writeVarLong(out, array.length);
+                    long previous = 0;
+                    for (long value : array) {
+                        long delta = value - previous;
+                        writeVarLong(out, (delta << 1) ^ (delta >> 63));
+                        previous = value;
+                    }
+                }
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Decoder {
+        private final MemorySegment segment;
+        private long position;
+
+        Decoder(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (segment.get(ValueLayout.JAVA_BYTE, position++) & 0xff);
+            }
+            return value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = segment.get(ValueLayout.JAVA_BYTE, position++);
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        /**
+         * Reads the number of elements that follow, each of them takes at least one byte so a count higher than the remaining bytes is rejected before anything is
+         * allocated
+         */
+        int readCount() throws IOException {
+            long count = readVarLong();
+            if (count < 0 || count > Math.min(segment.byteSize() - position, Integer.MAX_VALUE - 8)) {
+                throw new IOException("Invalid elements count " + count);
+            }
+            return (int) count;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.sejda.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.ReadableByteChannel;
+import java.util.List;
 
 /**
  * Readable source that provides random access capabilities.
@@ -66,6 +67,95 @@ public interface SeekableSource extends ReadableByteChannel {
      */
     SeekableSource view(long startingPosition, long length) throws IOException;
 
+    /**
+     * @return true if this source supports {@link #cursor()}
+     */
+    default boolean supportsCursors() {
+        return false;
+    }
+
+    /**
+     * Creates a cursor over this {@link SeekableSource}. A cursor is an independent reader, starting at position zero, that shares the underlying channel, mapped memory or byte
+     * array of this source and only keeps its own position (and its own buffer, for buffered sources). Cursors are cheap to create and, unlike views, they can be handed to other
+     * threads. Closing a cursor has no effect on this source while closing this source makes all its cursors unreadable.
+     *
+     * @return a new cursor over this source
+     * @throws IOException
+     *             if something goes wrong while creating the cursor
+     * @throws UnsupportedOperationException
+     *             if the source doesn't {@link #supportsCursors() support cursors}
+     */
+    default SeekableSource cursor() throws IOException {
+        throw new UnsupportedOperationException("Cursors are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Borrows a read-only slice of this {@link SeekableSource} covering {@code length} bytes starting at the given position. The slice is trimmed to the size of the source and
+     * borrowing it doesn't affect the {@link SeekableSource} position. Sources backed by memory return a zero-copy slice, the default implementation copies the bytes into a
+     * pooled buffer that is given back when the slice is closed.
+     *
+     * @param position
+     *            a non-negative position where the slice starts
+     * @param length
+     *            a non-negative number of bytes
+     * @return a slice of this source that must be closed once done with it
+     * @throws IOException
+     *             if something goes wrong while reading the bytes
+     */
+    default SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        return SeekableSourceSlice.copyOf(this, position, length);
+    }
+
+    /**
+     * Compares a range of this source with a range of the other source. Sources exposing their content as zero-copy slices (memory mapped, in-memory) are compared in place with
+     * vectorized comparisons, other sources are compared in chunks. Positions of the sources are not affected.
+     *
+     * @param other
+     *            the source to compare with, it can be this source
+     * @param position
+     *            where the range of this source starts
+     * @param otherPosition
+     *            where the range of the other source starts
+     * @param length
+     *            the number of bytes to compare, ranges are trimmed to the size of their sources
+     * @return the offset, relative to the ranges start, of the first mismatching byte or -1 if there is no mismatch. If one trimmed range is a proper prefix of the other, the
+     *         returned offset is the length of the shorter one.
+     */
+    default long mismatch(SeekableSource other, long position, long otherPosition, long length) throws IOException {
+        return SeekableSourceSlice.mismatch(this, position, other, otherPosition, length);
+    }
+
+    /**
+     * @return true if the range of this source and the range of the other source have the same length, once trimmed to their sources size, and the same content
+     * @see #mismatch(SeekableSource, long, long, long)
+     */
+    default boolean rangeEquals(SeekableSource other, long position, long otherPosition, long length)
+            throws IOException {
+        return mismatch(other, position, otherPosition, length) == -1;
+    }
+
+    /**
+     * Hints that the given ranges are going to be read soon, so that sources can start fetching them in the background and overlap the I/O latency of scattered reads. Sources
+     * reading from files load the ranges asynchronously, in-memory sources ignore the hint. The source position is not affected.
+     *
+     * @param ranges
+     *            ranges that will be read, they are trimmed to the size of the source
+     */
+    default void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+    }
+
+    /**
+     * Hints that the given range is not going to be read any time soon, so that sources can release the memory holding it. The source position is not affected.
+     *
+     * @param range
+     *            range that won't be read, it's trimmed to the size of the source
+     */
+    default void dontNeed(ByteRange range) throws IOException {
+        requireOpen();
+    }
+
     /**
      * Skips backward the given number of bytes moving back the source position
      *
@@ -132,6 +222,32 @@ public interface SeekableSource extends ReadableByteChannel {
         return -1;
     }
 
+    /**
+     * Reads an optionally signed decimal integer written in ASCII starting at the current position, without creating intermediate Strings. The position is moved right after
+     * the last byte of the number.
+     *
+     * @return the parsed integer
+     * @throws NumberFormatException
+     *             if there is no number at the current position or it doesn't fit in a long. The position is left unchanged.
+     */
+    default long readAsciiLong() throws IOException {
+        requireOpen();
+        return AsciiNumberParser.readLong(this);
+    }
+
+    /**
+     * Reads an optionally signed decimal real number written in ASCII (ex. {@code 12}, {@code -3.5}, {@code .25}) starting at the current position, without creating
+     * intermediate Strings. The position is moved right after the last byte of the number.
+     *
+     * @return the parsed number
+     * @throws NumberFormatException
+     *             if there is no number at the current position. The position is left unchanged.
+     */
+    default double readAsciiDouble() throws IOException {
+        requireOpen();
+        return AsciiNumberParser.readDouble(this);
+    }
+
     /**
      * Creates an {@link InputStream} from this {@link SeekableSource}.
      *
@@ -165,6 +281,6 @@ public interface SeekableSource extends ReadableByteChannel {
      */
     default InputStream asNewInputStream() {
         reset();
-        return new SeekableSourceInputStream(this);
+        return asInputStream();
     }
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * Immutable tuning options of the {@link SeekableSource}s, accepted by {@link SeekableSources} and by the implementations, so that different workloads sharing the same JVM can
+ * use different settings. Options that are not explicitly set take their value from the corresponding system property, when the builder is created, or from its default.
+ * The system properties are parsed once and again only when their values change, invalid values are ignored in favor of the defaults.
+ *
+ * <pre>
+ * {@code
+ * SeekableSourceOptions batch = SeekableSourceOptions.builder().inputBufferSize(1 << 16).readahead(1 << 22).build();
+ * SeekableSource source = SeekableSources.seekableSourceFrom(path, batch);
+ * }
+ * </pre>
+ *
+ * @author Andrea Vacondio
+ */
+public final class SeekableSourceOptions {
+    private static final Logger LOG = LoggerFactory.getLogger(SeekableSourceOptions.class);
+    private static final int DEFAULT_INPUT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_DIRECT_IO_BUFFER_SIZE = 1 << 17;
+    private static final long DEFAULT_MAPPED_PAGE_SIZE = 1 << 28;
+    private static final long DEFAULT_MAPPED_SIZE_THRESHOLD = 1 << 24;
+
+    private final int inputBufferSize;
+    private final boolean directBuffers;
+    private final long readahead;
+    private final int directIOBufferSize;
+    private final boolean memoryMapped;
+    private final long mappedSizeThreshold;
+    private final long mappedPageSize;
+    private final MemoryMappedSeekableSource.Lifecycle mappedLifecycle;
+    private final boolean lazyChannels;
+
+    private SeekableSourceOptions(Builder builder) {
+        this.inputBufferSize = builder.inputBufferSize;
+        this.directBuffers = builder.directBuffers;
+        this.readahead = builder.readahead;
+        this.directIOBufferSize = builder.directIOBufferSize;
+        this.memoryMapped = builder.memoryMapped;
+        this.mappedSizeThreshold = builder.mappedSizeThreshold;
+        this.mappedPageSize = builder.mappedPageSize;
+        this.mappedLifecycle = builder.mappedLifecycle;
+        this.lazyChannels = builder.lazyChannels;
+    }
+
+    /**
+     * @return the options defined by the system properties
+     */
+    public static SeekableSourceOptions defaults() {
+        return PropertyDefaults.get();
+    }
+
+    /**
+     * @return a builder initialized with the options defined by the system properties
+     */
+    public static Builder builder() {
+        return new Builder(defaults());
+    }
+
+    /**
+     * @return a builder initialized with these options
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * @return the size of the buffer of a {@link BufferedSeekableSource}
+     * @see SeekableSources#INPUT_BUFFER_SIZE_PROPERTY
+     */
+    public int inputBufferSize() {
+        return inputBufferSize;
+    }
+
+    /**
+     * @return true if {@link BufferedSeekableSource}s use off-heap buffers, saving a copy when reading from a file channel
+     */
+    public boolean directBuffers() {
+        return directBuffers;
+    }
+
+    /**
+     * @return the number of bytes a {@link BufferedSeekableSource} reading sequentially hints as needed ahead of its position, 0 if disabled
+     * @see SeekableSource#willNeed(java.util.List)
+     */
+    public long readahead() {
+        return readahead;
+    }
+
+    /**
+     * @return the size of the block aligned buffer of a {@link DirectFileChannelSeekableSource}
+     * @see SeekableSources#DIRECT_BUFFER_SIZE_PROPERTY
+     */
+    public int directIOBufferSize() {
+        return directIOBufferSize;
+    }
+
+    /**
+     * @return true if files bigger than {@link #mappedSizeThreshold()} can be memory mapped
+     * @see SeekableSources#DISABLE_MEMORY_MAPPED_PROPERTY
+     */
+    public boolean memoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * @return the size in bytes above which files are memory mapped
+     * @see SeekableSources#MAPPED_SIZE_THRESHOLD_PROPERTY
+     */
+    public long mappedSizeThreshold() {
+        return mappedSizeThreshold;
+    }
+
+    /**
+     * @return the size of the pages of a {@link MemoryMappedSeekableSource}
+     * @see SeekableSources#MEMORY_MAPPED_PAGE_SIZE_PROPERTY
+     */
+    public long mappedPageSize() {
+        return mappedPageSize;
+    }
+
+    /**
+     * @return the lifecycle of the mapping of a {@link MemoryMappedSeekableSource}
+     * @see SeekableSources#MEMORY_MAPPED_LIFECYCLE_PROPERTY
+     */
+    public MemoryMappedSeekableSource.Lifecycle mappedLifecycle() {
+        return mappedLifecycle;
+    }
+
+    /**
+     * @return true if {@link FileChannelSeekableSource}s open their channel lazily from the bounded pool of cached open channels
+     * @see SeekableSources#LAZY_CHANNEL_PROPERTY
+     */
+    public boolean lazyChannels() {
+        return lazyChannels;
+    }
+
+    /**
+     * The options defined by the system properties, parsed again only when the value of one of the properties changes
+     */
+    private static final class PropertyDefaults {
+        private static final String[] PROPERTIES = { SeekableSources.INPUT_BUFFER_SIZE_PROPERTY,
+                SeekableSources.DIRECT_BUFFER_SIZE_PROPERTY, SeekableSources.DISABLE_MEMORY_MAPPED_PROPERTY,
+                SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY, SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY,
+                SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, SeekableSources.LAZY_CHANNEL_PROPERTY };
+
+        private static volatile PropertyDefaults cached = new PropertyDefaults(values());
+
+        private final String[] values;
+        private final SeekableSourceOptions options;
+
+        private PropertyDefaults(String[] values) {
+            this.values = values;
+            Builder builder = new Builder();
+            builder.inputBufferSize = (int) number(0, DEFAULT_INPUT_BUFFER_SIZE, 1, Integer.MAX_VALUE);
+            builder.directIOBufferSize = (int) number(1, DEFAULT_DIRECT_IO_BUFFER_SIZE, 1, Integer.MAX_VALUE);
+            builder.memoryMapped = !Boolean.parseBoolean(values[2]);
+            builder.mappedSizeThreshold = number(3, DEFAULT_MAPPED_SIZE_THRESHOLD, 0, Long.MAX_VALUE);
+            builder.mappedPageSize = number(4, DEFAULT_MAPPED_PAGE_SIZE, 1, Long.MAX_VALUE);
+            builder.mappedLifecycle = lifecycle();
+            builder.lazyChannels = Boolean.parseBoolean(values[6]);
+            this.options = builder.build();
+        }
+
+        static SeekableSourceOptions get() {
+            String[] values = values();
+            PropertyDefaults current = cached;
+            if (!Arrays.equals(current.values, values)) {
+                current = new PropertyDefaults(values);
+                cached = current;
+            }
+            return current.options;
+        }
+
+        private static String[] values() {
+            String[] values = new String[PROPERTIES.length];
+            for (int i = 0; i < PROPERTIES.length; i++) {
+                values[i] = System.getProperty(PROPERTIES[i]);
+            }
+            return values;
+        }
+
+        /**
+         * @return the value of the property at the given index, the default if it's not set or it's not a number between min and max
+         */
+        private long number(int index, long defaultValue, long min, long max) {
+            String value = values[index];
+            if (value != null) {
+                try {
+                    long parsed = Long.decode(value.trim());
+                    if (parsed >= min && parsed <= max) {
+                        return parsed;
+                    }
+                } catch (NumberFormatException e) {
+                    // invalid, logged below
+                }
+                LOG.warn("Invalid value '{}' for {}, using the default {}", value, PROPERTIES[index], defaultValue);
+            }
+            return defaultValue;
+        }
+
+        private MemoryMappedSeekableSource.Lifecycle lifecycle() {
+            String value = values[5];
+            if (value != null) {
+                try {
+                    return MemoryMappedSeekableSource.Lifecycle.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("Invalid value '{}' for {}, using the default {}", value, PROPERTIES[5],
+                            MemoryMappedSeekableSource.Lifecycle.SHARED);
+                }
+            }
+            return MemoryMappedSeekableSource.Lifecycle.SHARED;
+        }
+    }
+
+    public static final class Builder {
+        private int inputBufferSize;
+        private boolean directBuffers;
+        private long readahead;
+        private int directIOBufferSize;
+        private boolean memoryMapped;
+        private long mappedSizeThreshold;
+        private long mappedPageSize;
+        private MemoryMappedSeekableSource.Lifecycle mappedLifecycle;
+        private boolean lazyChannels;
+
+        private Builder() {
+        }
+
+        private Builder(SeekableSourceOptions options) {
+            this.inputBufferSize = options.inputBufferSize;
+            this.directBuffers = options.directBuffers;
+            this.readahead = options.readahead;
+            this.directIOBufferSize = options.directIOBufferSize;
+            this.memoryMapped = options.memoryMapped;
+            this.mappedSizeThreshold = options.mappedSizeThreshold;
+            this.mappedPageSize = options.mappedPageSize;
+            this.mappedLifecycle = options.mappedLifecycle;
+            this.lazyChannels = options.lazyChannels;
+        }
+
+        public Builder inputBufferSize(int inputBufferSize) {
+            requireArg(inputBufferSize > 0, "Input buffer size must be positive");
+            this.inputBufferSize = inputBufferSize;
+            return this;
+        }
+
+        public Builder directBuffers(boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
+        public Builder readahead(long readahead) {
+            requireArg(readahead >= 0, "Readahead cannot be negative");
+            this.readahead = readahead;
+            return this;
+        }
+
+        public Builder directIOBufferSize(int directIOBufferSize) {
+            requireArg(directIOBufferSize > 0, "Direct I/O buffer size must be positive");
+            this.directIOBufferSize = directIOBufferSize;
+            return this;
+        }
+
+        public Builder memoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
+        public Builder mappedSizeThreshold(long mappedSizeThreshold) {
+            requireArg(mappedSizeThreshold >= 0, "Mapped size threshold cannot be negative");
+            this.mappedSizeThreshold = mappedSizeThreshold;
+            return this;
+        }
+
+        public Builder mappedPageSize(long mappedPageSize) {
+            requireArg(mappedPageSize > 0, "Mapped page size must be positive");
+            this.mappedPageSize = mappedPageSize;
+            return this;
+        }
+
+        public Builder mappedLifecycle(MemoryMappedSeekableSource.Lifecycle mappedLifecycle) {
+            requireNotNullArg(mappedLifecycle, "Lifecycle cannot be null");
+            this.mappedLifecycle = mappedLifecycle;
+            return this;
+        }
+
+        public Builder lazyChannels(boolean lazyChannels) {
+            this.lazyChannels = lazyChannels;
+            return this;
+        }
+
+        public SeekableSourceOptions build() {
+            return new SeekableSourceOptions(this);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+/**
+ * Registry of {@link SeekableSource}s shared by concurrent users of the same file. The first lease of a file opens (or maps) it, subsequent leases get a buffered cursor over the
+ * same underlying source, saving the open/mmap calls and the duplicated page tables. Sources are keyed by path, size and last modified time, so a file that changes on disk is
+ * opened again. Leases are reference counted and a source that is no longer leased is closed once it's been idle for the configured delay.
+ *
+ * @author Andrea Vacondio
+ */
+public class SeekableSourceRegistry implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(SeekableSourceRegistry.class);
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor closer;
+    private final long idleDelayMillis;
+
+    /**
+     * @param idleDelay
+     *            how long a source that is no longer leased stays open waiting for a new lease
+     */
+    public SeekableSourceRegistry(Duration idleDelay) {
+        requireNotNullArg(idleDelay, "Idle delay cannot be null");
+        requireArg(!idleDelay.isNegative(), "Idle delay cannot be negative");
+        this.idleDelayMillis = idleDelay.toMillis();
+        this.closer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "sejda-io-registry-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.closer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Leases a {@link SeekableSource} for the given file. The returned source has its own position and buffer and it can be used independently of other leases of the same file.
+     * Closing it releases the lease.
+     *
+     * @return a leased source for the given file
+     */
+    public SeekableSource lease(Path path) throws IOException {
+        requireNonNull(path);
+        requireState(!closer.isShutdown(), "The registry has been closed");
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Key key = new Key(path.toAbsolutePath().normalize(), attributes.size(), attributes.lastModifiedTime());
+        while (true) {
+            Entry entry = entries.computeIfAbsent(key, Entry::new);
+            if (entry.acquire(path)) {
+                return entry.lease();
+            }
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * @return the number of sources currently open in the registry
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Closes all the sources of the registry, making the leases unreadable.
+     */
+    @Override
+    public void close() {
+        closer.shutdownNow();
+        entries.values().forEach(Entry::close);
+        entries.clear();
+    }
+
+    private record Key(Path path, long size, FileTime lastModified) {
+    }
+
+    private class Entry {
+        private final Key key;
+        private SeekableSource source;
+        private ScheduledFuture<?> scheduledClose;
+        private int leases = 0;
+        private boolean closed = false;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * @return false if this entry has been closed and a new one has to be created
+         */
+        synchronized boolean acquire(Path path) throws IOException {
+            if (closed) {
+                return false;
+            }
+            if (source == null) {
+                try {
+                    // leases are cursors used by different threads, a confined mapping would refuse them
+                    source = SeekableSources.unbufferedSeekableSourceFrom(path, SeekableSourceOptions.builder()
+                            .mappedLifecycle(MemoryMappedSeekableSource.Lifecycle.SHARED).build());
+                    LOG.debug("Opened shared source {}", key.path());
+                } catch (IOException | RuntimeException e) {
+                    closed = true;
+                    entries.remove(key, this);
+                    throw e;
+                }
+            }
+            leases++;
+            ofNullable(scheduledClose).ifPresent(f -> f.cancel(false));
+            scheduledClose = null;
+            return true;
+        }
+
+        synchronized SeekableSource lease() throws IOException {
+            SeekableSource cursor;
+            try {
+                cursor = source.cursor();
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+            return new BufferedSeekableSource(cursor) {
+                private boolean released = false;
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    if (!released) {
+                        released = true;
+                        release();
+                    }
+                }
+            };
+        }
+
+        synchronized void release() {
+            leases--;
+            if (leases == 0 && !closed && !closer.isShutdown()) {
+                scheduledClose = closer.schedule(this::closeIfIdle, idleDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void closeIfIdle() {
+            if (leases == 0) {
+                close();
+                entries.remove(key, this);
+            }
+        }
+
+        synchronized void close() {
+            if (!closed) {
+                closed = true;
+                LOG.debug("Closing shared source {}", key.path());
+                IOUtils.closeQuietly(source);
+            }
+        }
+    }
+}
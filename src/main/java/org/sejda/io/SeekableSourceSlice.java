@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.sejda.commons.Pool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+
+import static org.sejda.commons.util.RequireUtils.requireArg;
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+
+/**
+ * A read-only portion of a {@link SeekableSource} borrowed using {@link SeekableSource#slice(long, int)}. When the source can expose its content directly (memory mapped
+ * pages, byte arrays) the slice is a zero-copy view of the underlying memory, otherwise the bytes are copied into a pooled buffer. A slice should be closed once done with it so
+ * that pooled buffers can be reused, the content of a closed slice, as well as the content of a slice whose source has been closed, must not be accessed.
+ *
+ * @author Andrea Vacondio
+ */
+public final class SeekableSourceSlice implements Closeable {
+
+    private static final int POOLED_BUFFER_SIZE = 1 << 16;
+    private static final Pool<ByteBuffer> BUFFERS = new Pool<>(() -> ByteBuffer.allocate(POOLED_BUFFER_SIZE),
+            Runtime.getRuntime().availableProcessors() * 2);
+
+    private final ByteBuffer buffer;
+    private final MemorySegment segment;
+    private final ByteBuffer pooled;
+    private boolean closed = false;
+
+    private SeekableSourceSlice(ByteBuffer buffer, MemorySegment segment, ByteBuffer pooled) {
+        this.buffer = buffer;
+        this.segment = segment;
+        this.pooled = pooled;
+    }
+
+    /**
+     * @return a read-only {@link ByteBuffer} whose position is zero and whose limit is the slice size
+     */
+    public ByteBuffer asByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * @return a read-only {@link MemorySegment} covering the slice
+     */
+    public MemorySegment asSegment() {
+        return segment;
+    }
+
+    /**
+     * @return the slice size in bytes
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    /**
+     * @return true if the slice is a view over the source memory and no bytes have been copied
+     */
+    public boolean isZeroCopy() {
+        return pooled == null;
+    }
+
+    @Override
+    public void close() {
+        if (!closed && pooled != null) {
+            giveBack(pooled);
+        }
+        closed = true;
+    }
+
+    /**
+     * @return a zero-copy slice over the given segment
+     */
+    static SeekableSourceSlice of(MemorySegment segment) {
+        requireNotNullArg(segment, "Cannot slice a null segment");
+        MemorySegment readOnly = segment.asReadOnly();
+        return new SeekableSourceSlice(readOnly.asByteBuffer(), readOnly, null);
+    }
+
+    /**
+     * @return a zero-copy slice over the remaining bytes of the given buffer
+     */
+    static SeekableSourceSlice of(ByteBuffer buffer) {
+        requireNotNullArg(buffer, "Cannot slice a null buffer");
+        ByteBuffer readOnly = buffer.slice().asReadOnlyBuffer();
+        return new SeekableSourceSlice(readOnly, MemorySegment.ofBuffer(readOnly), null);
+    }
+
+    /**
+     * Copies the requested portion of the source into a pooled buffer. The source position is restored once the bytes have been read.
+     *
+     * @return a slice holding a copy of the source bytes
+     */
+    static SeekableSourceSlice copyOf(SeekableSource source, long position, int length) throws IOException {
+        return copy(source, position, length(source, position, length));
+    }
+
+    /**
+     * Copies exactly the given number of bytes, already trimmed to the source size, into a pooled buffer. The source position is restored once the bytes have been read.
+     */
+    static SeekableSourceSlice copy(SeekableSource source, long position, int size) throws IOException {
+        ByteBuffer pooled = borrow(size);
+        try {
+            long current = source.position();
+            source.position(position);
+            while (pooled.hasRemaining() && source.read(pooled) > 0) {
+                // keep reading
+            }
+            source.position(current);
+        } catch (IOException | RuntimeException e) {
+            giveBack(pooled);
+            throw e;
+        }
+        pooled.flip();
+        ByteBuffer readOnly = pooled.asReadOnlyBuffer();
+        return new SeekableSourceSlice(readOnly, MemorySegment.ofBuffer(readOnly), pooled);
+    }
+
+    private static ByteBuffer borrow(int size) {
+        if (size <= POOLED_BUFFER_SIZE) {
+            return BUFFERS.borrow().clear().limit(size);
+        }
+        return ByteBuffer.allocate(size);
+    }
+
+    private static void giveBack(ByteBuffer buffer) {
+        if (buffer.capacity() == POOLED_BUFFER_SIZE) {
+            BUFFERS.give(buffer.clear());
+        }
+    }
+
+    /**
+     * Compares the ranges comparing slices of the two sources chunk by chunk, zero-copy slices are compared in place using the vectorized
+     * {@link MemorySegment#mismatch(MemorySegment, long, long, MemorySegment, long, long)}.
+     *
+     * @see SeekableSource#mismatch(SeekableSource, long, long, long)
+     */
+    static long mismatch(SeekableSource source, long position, SeekableSource other, long otherPosition, long length)
+            throws IOException {
+        requireNotNullArg(other, "Source to compare with cannot be null");
+        requireArg(position >= 0 && otherPosition >= 0, "Range position cannot be negative");
+        requireArg(length >= 0, "Range length cannot be negative");
+        source.requireOpen();
+        other.requireOpen();
+        long sourceLength = Math.min(length, Math.max(0, source.size() - position));
+        long otherLength = Math.min(length, Math.max(0, other.size() - otherPosition));
+        long common = Math.min(sourceLength, otherLength);
+        for (long offset = 0; offset < common; offset += POOLED_BUFFER_SIZE) {
+            int chunk = (int) Math.min(POOLED_BUFFER_SIZE, common - offset);
+            try (SeekableSourceSlice slice = source.slice(position + offset, chunk);
+                    SeekableSourceSlice otherSlice = other.slice(otherPosition + offset, chunk)) {
+                long mismatch = MemorySegment.mismatch(slice.asSegment(), 0, chunk, otherSlice.asSegment(), 0, chunk);
+                if (mismatch >= 0) {
+                    return offset + mismatch;
+                }
+            }
+        }
+        return sourceLength == otherLength ? -1 : common;
+    }
+
+    /**
+     * Validates the slice request against the given source
+     *
+     * @return the number of bytes that the slice will actually contain, that is the requested length trimmed to the source size
+     */
+    static int length(SeekableSource source, long position, int length) {
+        requireArg(position >= 0, "Slice position cannot be negative");
+        requireArg(length >= 0, "Slice length cannot be negative");
+        return (int) Math.min(length, Math.max(0, source.size() - position));
+    }
+}
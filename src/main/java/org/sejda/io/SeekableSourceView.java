@@ -17,6 +17,7 @@ package org.sejda.io;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.function.Supplier;
 
 import static org.sejda.commons.util.RequireUtils.requireArg;
@@ -35,17 +36,34 @@ class SeekableSourceView extends BaseSeekableSource {
     private long currentPosition;
     private final Supplier<? extends SeekableSource> supplier;
 
+    private SeekableSourceView(SeekableSourceView parent) {
+        super(parent);
+        this.startingPosition = parent.startingPosition;
+        this.length = parent.length;
+        this.supplier = parent.supplier;
+    }
+
     public SeekableSourceView(Supplier<? extends SeekableSource> supplier, String id, long startingPosition,
             long length) {
+        this(supplier, id, startingPosition, length, -1);
+    }
+
+    /**
+     * @param available
+     *            the number of bytes of the wrapped source known to exist, at least up to the end of the view unless it's the size of the source, or a negative value to use
+     *            the wrapped source size
+     */
+    SeekableSourceView(Supplier<? extends SeekableSource> supplier, String id, long startingPosition, long length,
+            long available) {
         super(id);
         requireArg(startingPosition >= 0, "Starting position cannot be negative");
         requireArg(length > 0, "View length must be positive");
         requireNotNullArg(supplier, "Input decorated SeekableSource cannot be null");
         this.startingPosition = startingPosition;
         this.currentPosition = 0;
-        SeekableSource wrapped = supplier.get();
-        requireArg(startingPosition < wrapped.size(), "Starting position cannot be higher then wrapped source size");
-        this.length = Math.min(length, wrapped.size() - startingPosition);
+        long size = available >= 0 ? available : supplier.get().size();
+        requireArg(startingPosition < size, "Starting position cannot be higher then wrapped source size");
+        this.length = Math.min(length, size - startingPosition);
         this.supplier = supplier;
     }
 
@@ -98,6 +116,38 @@ class SeekableSourceView extends BaseSeekableSource {
         return -1;
     }
 
+    @Override
+    public boolean supportsCursors() {
+        return true;
+    }
+
+    /**
+     * The cursor of a view reads from the thread bound copies of the original source, so it can be handed to other threads.
+     */
+    @Override
+    public SeekableSource cursor() throws IOException {
+        requireOpen();
+        return new SeekableSourceView(this);
+    }
+
+    @Override
+    public SeekableSourceSlice slice(long position, int length) throws IOException {
+        requireOpen();
+        return supplier.get().slice(startingPosition + position, SeekableSourceSlice.length(this, position, length));
+    }
+
+    @Override
+    public void willNeed(List<ByteRange> ranges) throws IOException {
+        requireOpen();
+        supplier.get().willNeed(ranges.stream().map(r -> r.translate(startingPosition, length)).toList());
+    }
+
+    @Override
+    public void dontNeed(ByteRange range) throws IOException {
+        requireOpen();
+        supplier.get().dontNeed(range.translate(startingPosition, length));
+    }
+
     private boolean hasAvailable() {
         return available() > 0;
     }
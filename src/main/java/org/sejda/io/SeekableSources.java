@@ -17,12 +17,15 @@ package org.sejda.io;
 
 import org.sejda.commons.util.IOUtils;
 
+import javax.crypto.SecretKey;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 
 import static java.util.Objects.requireNonNull;
 
@@ -51,8 +54,45 @@ public final class SeekableSources {
      * Size of the pages used by {@link MemoryMappedSeekableSource}
      */
     public static final String MEMORY_MAPPED_PAGE_SIZE_PROPERTY = "org.sejda.io.memory.mapped.page.size";
-
-    private static final long MB_16 = 1 << 24;
+    /**
+     * {@link MemoryMappedSeekableSource.Lifecycle} of the {@link MemoryMappedSeekableSource}s, one of SHARED (default), CONFINED or AUTO. CONFINED sources can only be used and
+     * closed by the thread that created them, they don't support cursors and their views can't be handed to other threads, so it should only be set when sources are not
+     * shared between threads.
+     */
+    public static final String MEMORY_MAPPED_LIFECYCLE_PROPERTY = "org.sejda.io.memory.mapped.lifecycle";
+    /**
+     * Size of the block aligned buffer used by {@link DirectFileChannelSeekableSource}
+     */
+    public static final String DIRECT_BUFFER_SIZE_PROPERTY = "org.sejda.io.direct.buffer.size";
+    /**
+     * Milliseconds an idle source of the shared {@link SeekableSourceRegistry} stays open waiting for a new lease
+     */
+    public static final String SHARED_IDLE_DELAY_PROPERTY = "org.sejda.io.shared.idle.delay";
+    /**
+     * Makes the SeekableSources methods create {@link FileChannelSeekableSource}s that lazily open their channel from a bounded pool
+     */
+    public static final String LAZY_CHANNEL_PROPERTY = "org.sejda.io.channel.lazy";
+    /**
+     * Maximum number of channels kept open by the pool used by lazy {@link FileChannelSeekableSource}s
+     */
+    public static final String CHANNEL_POOL_SIZE_PROPERTY = "org.sejda.io.channel.pool.size";
+    /**
+     * Number of bytes of the global {@link MemoryBudget}
+     */
+    public static final String MEMORY_BUDGET_PROPERTY = "org.sejda.io.memory.budget";
+    /**
+     * Directory where anonymous temporary files are created when memfd is not available, a tmpfs mount is a good fit. Defaults to java.io.tmpdir
+     */
+    public static final String TEMP_DIR_PROPERTY = "org.sejda.io.temp.dir";
+    /**
+     * Enables the use of memfd for anonymous temporary files on Linux. Anonymous temporary files, used by {@link #anonymousTempFileSeekableSourceFrom(InputStream)} and
+     * {@link #progressiveSeekableSourceFrom(InputStream)}, are by default unlinked files in the {@link #TEMP_DIR_PROPERTY} directory. With this property set to true they are
+     * memfd instead: their content is held in RAM (or swap), not on disk, and it's not accounted by the {@link MemoryBudget}, so it should only be enabled when the streams
+     * are known to fit in memory. memfd is created through the Foreign Function API, a restricted method, so the JVM must be started with
+     * {@code --enable-native-access=org.sejda.io} (or {@code ALL-UNNAMED} on the class path), or the {@code Enable-Native-Access: ALL-UNNAMED} manifest entry of an
+     * executable jar, otherwise a warning is printed the first time it's used.
+     */
+    public static final String ENABLE_MEMFD_PROPERTY = "org.sejda.io.memfd.enabled";
 
     private SeekableSources() {
         // utility
@@ -71,30 +111,100 @@ public final class SeekableSources {
 
     /**
      * Factory method to create a {@link SeekableSource} from a {@link Path}. An attempt is made to return the best {@link SeekableSource} implementation based on the size of the
-     * file and bitness of the JVM.
+     * file, bitness of the JVM and headroom of the {@link MemoryBudget}.
      *
      * @return a {@link SeekableSource} from the given file.
      */
     public static SeekableSource seekableSourceFrom(Path path) throws IOException {
+        return seekableSourceFrom(path, SeekableSourceOptions.defaults());
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link Path}, tuned with the given options. An attempt is made to return the best {@link SeekableSource}
+     * implementation based on the size of the file, bitness of the JVM, headroom of the {@link MemoryBudget} and the given options.
+     *
+     * @return a {@link SeekableSource} from the given file.
+     */
+    public static SeekableSource seekableSourceFrom(Path path, SeekableSourceOptions options) throws IOException {
         requireNonNull(path);
-        if (!"32".equals(System.getProperty("sun.arch.data.model")) && !Boolean.getBoolean(
-                DISABLE_MEMORY_MAPPED_PROPERTY) && Files.size(path) > Long.getLong(MAPPED_SIZE_THRESHOLD_PROPERTY,
-                MB_16)) {
-            return new BufferedSeekableSource(new MemoryMappedSeekableSource(path));
+        requireNonNull(options);
+        return new BufferedSeekableSource(unbufferedSeekableSourceFrom(path, options), options);
+    }
+
+    /**
+     * @return the {@link MemoryMappedSeekableSource} or {@link FileChannelSeekableSource} that {@link #seekableSourceFrom(Path, SeekableSourceOptions)} would buffer
+     */
+    static SeekableSource unbufferedSeekableSourceFrom(Path path, SeekableSourceOptions options)
+            throws IOException {
+        long size = Files.size(path);
+        if (!"32".equals(System.getProperty("sun.arch.data.model")) && options.memoryMapped()
+                && size > options.mappedSizeThreshold() && MemoryBudget.global().canAfford(size)) {
+            return new MemoryMappedSeekableSource(path, options);
         }
-        return new BufferedSeekableSource(new FileChannelSeekableSource(path));
+        return new FileChannelSeekableSource(path, options.lazyChannels());
     }
 
     /**
-     * Factory method to create a {@link SeekableSource} from a {@link InputStream}. The whole stream is read and stored in a byte array with a max size of 2GB.
+     * Factory method to lease a {@link SeekableSource} for a {@link Path} from the shared {@link SeekableSourceRegistry}. Concurrent leases of the same unchanged file share the
+     * same underlying channel or mapping. Idle sources are closed after {@link #SHARED_IDLE_DELAY_PROPERTY} milliseconds.
+     *
+     * @return a leased {@link SeekableSource} for the given file, closing it releases the lease.
+     * @see SeekableSourceRegistry
+     */
+    public static SeekableSource sharedSeekableSourceFrom(Path path) throws IOException {
+        requireNonNull(path);
+        return SharedRegistryHolder.REGISTRY.lease(path);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link Path} that reads the file using direct I/O, bypassing the operating system page cache. Useful for files
+     * that are read once and that shouldn't evict from the page cache the data used by other processes.
+     *
+     * @return a {@link SeekableSource} from the given file.
+     * @see DirectFileChannelSeekableSource
+     */
+    public static SeekableSource directSeekableSourceFrom(Path path) {
+        return directSeekableSourceFrom(path, SeekableSourceOptions.defaults());
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link Path} that reads the file using direct I/O, with the buffer size of the given options.
+     *
+     * @return a {@link SeekableSource} from the given file.
+     * @see #directSeekableSourceFrom(Path)
+     */
+    public static SeekableSource directSeekableSourceFrom(Path path, SeekableSourceOptions options) {
+        requireNonNull(path);
+        requireNonNull(options);
+        return new DirectFileChannelSeekableSource(path, options);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream}. The whole stream is read and stored in a byte array with a max size of 2GB. If the
+     * {@link MemoryBudget} is low, the stream is copied to a temporary file instead.
      *
      * @return a {@link SeekableSource} from the given stream.
      */
     public static SeekableSource inMemorySeekableSourceFrom(InputStream stream) throws IOException {
         requireNonNull(stream);
+        if (MemoryBudget.global().isLow()) {
+            return onTempFileSeekableSourceFrom(stream);
+        }
         return new ByteArraySeekableSource(IOUtils.toByteArray(stream));
     }
 
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream}. The stream content is kept in memory compressed in blocks, using less memory than
+     * {@link #inMemorySeekableSourceFrom(InputStream)} at the cost of decompressing blocks on access.
+     *
+     * @return a {@link SeekableSource} from the given stream.
+     * @see CompressedSeekableSource
+     */
+    public static SeekableSource compressedSeekableSourceFrom(InputStream stream) throws IOException {
+        requireNonNull(stream);
+        return new CompressedSeekableSource(stream);
+    }
+
     /**
      * Factory method to create a {@link SeekableSource} from a byte array.
      *
@@ -150,10 +260,150 @@ public final class SeekableSources {
     }
 
     /**
-     * Factory method to create an {@link OffsettableSeekableSource} from a {@link SeekableSource}
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream}. The whole stream is copied to an anonymous temporary file, an unlinked file in the
+     * {@link #TEMP_DIR_PROPERTY} directory or, if enabled, an in-memory memfd on Linux (see {@link #ENABLE_MEMFD_PROPERTY}), whose storage is released when the source is
+     * closed. Unlike {@link #onTempFileSeekableSourceFrom(InputStream)} nothing is registered for deletion on exit.
+     *
+     * @return a {@link SeekableSource} from the given stream.
+     */
+    public static SeekableSource anonymousTempFileSeekableSourceFrom(InputStream stream) throws IOException {
+        return anonymousTempFileSeekableSourceFrom(stream, "SejdaIO");
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream}. The whole stream is copied to an anonymous temporary file, an unlinked file in the
+     * {@link #TEMP_DIR_PROPERTY} directory or, if enabled, an in-memory memfd on Linux (see {@link #ENABLE_MEMFD_PROPERTY}), whose storage is released when the source is
+     * closed. Unlike {@link #onTempFileSeekableSourceFrom(InputStream, String)} nothing is registered for deletion on exit.
+     *
+     * @param filenameHint name to use for the temp file, the source id ends with it
+     * @return a {@link SeekableSource} from the given stream.
+     */
+    public static SeekableSource anonymousTempFileSeekableSourceFrom(InputStream stream, String filenameHint)
+            throws IOException {
+        requireNonNull(stream);
+        AnonymousTempFiles.TempFile temp = AnonymousTempFiles.create(filenameHint);
+        try {
+            stream.transferTo(Channels.newOutputStream(temp.channel()));
+            return new BufferedSeekableSource(new FileChannelSeekableSource(temp.channel(), temp.id()));
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(temp.channel());
+            throw e;
+        }
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream} of unknown size. The stream is copied to a temporary file by a background thread and the
+     * returned source is readable while the copy is in progress. The temporary file is anonymous, see {@link #ENABLE_MEMFD_PROPERTY}.
+     *
+     * @return a {@link SeekableSource} from the given stream.
+     * @see ProgressiveTempFileSeekableSource
+     */
+    public static SeekableSource progressiveSeekableSourceFrom(InputStream stream) throws IOException {
+        requireNonNull(stream);
+        return new ProgressiveTempFileSeekableSource(stream);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream} of the given size. The stream is copied to a temporary file by a background thread and the
+     * returned source is readable while the copy is in progress. The temporary file is anonymous, see {@link #ENABLE_MEMFD_PROPERTY}.
+     *
+     * @param size the number of bytes of the stream
+     * @return a {@link SeekableSource} from the given stream.
+     * @see ProgressiveTempFileSeekableSource
+     */
+    public static SeekableSource progressiveSeekableSourceFrom(InputStream stream, long size) throws IOException {
+        return progressiveSeekableSourceFrom(stream, size, SeekableSourceOptions.defaults());
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream}, reading the copy through a buffer sized by the given options. The stream is copied to a
+     * temporary file by a background thread and the returned source is readable while the copy is in progress. The temporary file is anonymous, see
+     * {@link #ENABLE_MEMFD_PROPERTY}.
+     *
+     * @param size the number of bytes of the stream or a negative value if unknown
+     * @return a {@link SeekableSource} from the given stream.
+     * @see ProgressiveTempFileSeekableSource
+     */
+    public static SeekableSource progressiveSeekableSourceFrom(InputStream stream, long size, SeekableSourceOptions options)
+            throws IOException {
+        requireNonNull(stream);
+        requireNonNull(options);
+        return new ProgressiveTempFileSeekableSource(stream, size, options);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} from a {@link InputStream} that is read once, without materializing it in memory or on disk. Only the most recent
+     * bytes are kept and the position can be moved back only within them.
+     *
+     * @param lookback the number of bytes the position can be moved back
+     * @return a {@link SeekableSource} from the given stream.
+     * @see ForwardOnlySeekableSource
+     */
+    public static SeekableSource forwardOnlySeekableSourceFrom(InputStream stream, int lookback) {
+        requireNonNull(stream);
+        return new ForwardOnlySeekableSource(stream, lookback);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} decoding the Base64 or hex encoded content of the given source on the fly. The given source is closed when the
+     * returned one is closed.
+     *
+     * @return a {@link SeekableSource} with the decoded content of the given source.
+     * @throws IOException
+     *             if the given source content is not valid for the encoding
+     * @see DecodingSeekableSource
+     */
+    public static SeekableSource decodingSeekableSourceFrom(SeekableSource source,
+            DecodingSeekableSource.Encoding encoding) throws IOException {
+        requireNonNull(source);
+        return new DecodingSeekableSource(source, encoding);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} inflating on the fly the deflated content of the given source, with random access based on an index of checkpoints
+     * built when the source is created. The given source is closed when the returned one is closed.
+     *
+     * @return a {@link SeekableSource} with the inflated content of the given source.
+     * @throws IOException
+     *             if the given source content is not valid for the format
+     * @see InflatingSeekableSource
+     */
+    public static SeekableSource inflatingSeekableSourceFrom(SeekableSource source, InflatingSeekableSource.Format format)
+            throws IOException {
+        requireNonNull(source);
+        return new InflatingSeekableSource(source, format);
+    }
+
+    /**
+     * Factory method to create a {@link SeekableSource} decrypting on the fly the AES/CTR encrypted content of the given source. The given source is closed when the
+     * returned one is closed.
+     *
+     * @param key
+     *            the AES key
+     * @param iv
+     *            the 16 bytes initial counter block
+     * @return a {@link SeekableSource} with the decrypted content of the given source.
+     * @see DecryptingSeekableSource
+     */
+    public static SeekableSource decryptingSeekableSourceFrom(SeekableSource source, SecretKey key, byte[] iv) {
+        requireNonNull(source);
+        return new DecryptingSeekableSource(source, key, iv);
+    }
+
+    /**
+     * Factory method to create an {@link OffsettableSeekableSource} from a {@link SeekableSource}. A {@link BufferedSeekableSource}, as returned by the other factory methods,
+     * is fused with the offset in a single source reading its wrapped source, the given source is closed when the returned one is closed and shouldn't be read in the meantime.
      */
     public static OffsettableSeekableSource asOffsettable(SeekableSource source) {
         requireNonNull(source);
+        if (source.getClass() == BufferedSeekableSource.class) {
+            return new OffsettableBufferedSeekableSource((BufferedSeekableSource) source);
+        }
         return new OffsettableSeekableSourceImpl(source);
     }
+
+    private static final class SharedRegistryHolder {
+        private static final SeekableSourceRegistry REGISTRY = new SeekableSourceRegistry(
+                Duration.ofMillis(Long.getLong(SHARED_IDLE_DELAY_PROPERTY, 30_000)));
+    }
 }
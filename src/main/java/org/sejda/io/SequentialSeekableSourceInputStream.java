@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static org.sejda.commons.util.RequireUtils.requireNotNullArg;
+import static org.sejda.commons.util.RequireUtils.requireState;
+
+/**
+ * Bridge between {@link SeekableSource} and {@link InputStream} for sources whose size is not known, or expensive to know, while reading. Unlike
+ * {@link SeekableSourceInputStream} it never asks for the {@link SeekableSource#size()}, reads go through {@link SeekableSource#read(ByteBuffer)} until it returns -1 and
+ * skipping reads and discards the skipped bytes.
+ *
+ * @author Andrea Vacondio
+ */
+class SequentialSeekableSourceInputStream extends InputStream {
+    private final SeekableSource wrapped;
+
+    SequentialSeekableSourceInputStream(SeekableSource wrapped) {
+        requireNotNullArg(wrapped, "Cannot decorate a null instance");
+        this.wrapped = wrapped;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return getSource().read();
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, b.length);
+        SeekableSource source = getSource();
+        if (length == 0) {
+            return 0;
+        }
+        return source.read(ByteBuffer.wrap(b, offset, length));
+    }
+
+    private SeekableSource getSource() {
+        requireState(wrapped.isOpen(), "The SeekableSource has been closed");
+        return wrapped;
+    }
+}
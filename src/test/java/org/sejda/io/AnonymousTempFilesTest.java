@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class AnonymousTempFilesTest {
+
+    @AfterEach
+    public void tearDown() {
+        System.getProperties().remove(SeekableSources.ENABLE_MEMFD_PROPERTY);
+        System.getProperties().remove(SeekableSources.TEMP_DIR_PROPERTY);
+    }
+
+    @Test
+    public void readWrite() throws IOException {
+        AnonymousTempFiles.TempFile victim = AnonymousTempFiles.create("chuck.pdf");
+        try (var channel = victim.channel()) {
+            assertTrue(victim.id().endsWith("chuck.pdf"));
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+            assertEquals(3, channel.size());
+            ByteBuffer dst = ByteBuffer.allocate(2);
+            channel.read(dst, 1);
+            assertEquals(2, dst.get(0));
+            assertEquals(3, dst.get(1));
+        }
+    }
+
+    @Test
+    public void uniqueIds() throws IOException {
+        AnonymousTempFiles.TempFile first = AnonymousTempFiles.create("chuck");
+        AnonymousTempFiles.TempFile second = AnonymousTempFiles.create("chuck");
+        assertNotEquals(first.id(), second.id());
+        first.channel().close();
+        second.channel().close();
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    public void memfdWhenEnabled() throws IOException {
+        System.setProperty(SeekableSources.ENABLE_MEMFD_PROPERTY, "true");
+        AnonymousTempFiles.TempFile victim = AnonymousTempFiles.create("chuck.pdf");
+        try (var channel = victim.channel()) {
+            assertTrue(victim.id().startsWith("memfd:"));
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+            assertEquals(3, channel.size());
+        }
+    }
+
+    @Test
+    public void unlinkedFileByDefault(@TempDir Path temp) throws IOException {
+        System.setProperty(SeekableSources.TEMP_DIR_PROPERTY, temp.toString());
+        AnonymousTempFiles.TempFile victim = AnonymousTempFiles.create("chuck.pdf");
+        try (var channel = victim.channel()) {
+            assertTrue(victim.id().startsWith(temp.toAbsolutePath().toString()));
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+            assertEquals(3, channel.size());
+        }
+        try (var files = Files.list(temp)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class AsciiNumberParserTest {
+
+    private static long parseLong(String value) {
+        AsciiNumberParser parser = new AsciiNumberParser().reset(false);
+        for (byte b : value.getBytes(StandardCharsets.US_ASCII)) {
+            if (!parser.accept(b)) {
+                break;
+            }
+        }
+        return parser.longValue();
+    }
+
+    private static double parseDouble(String value) {
+        AsciiNumberParser parser = new AsciiNumberParser().reset(true);
+        for (byte b : value.getBytes(StandardCharsets.US_ASCII)) {
+            if (!parser.accept(b)) {
+                break;
+            }
+        }
+        return parser.doubleValue();
+    }
+
+    @Test
+    public void longs() {
+        assertEquals(0, parseLong("0"));
+        assertEquals(15, parseLong("0000000015"));
+        assertEquals(-15, parseLong("-15"));
+        assertEquals(15, parseLong("+15 0 R"));
+        assertEquals(12, parseLong("12.5"));
+        assertEquals(Long.MAX_VALUE, parseLong(Long.toString(Long.MAX_VALUE)));
+        assertEquals(Long.MIN_VALUE, parseLong(Long.toString(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void invalidLongs() {
+        assertThrows(NumberFormatException.class, () -> parseLong(""));
+        assertThrows(NumberFormatException.class, () -> parseLong("-"));
+        assertThrows(NumberFormatException.class, () -> parseLong("obj"));
+        assertThrows(NumberFormatException.class, () -> parseLong("9223372036854775808"));
+        assertThrows(NumberFormatException.class, () -> parseLong("-9223372036854775809"));
+    }
+
+    @Test
+    public void doubles() {
+        assertEquals(0, parseDouble("0"));
+        assertEquals(12, parseDouble("12"));
+        assertEquals(-3.5, parseDouble("-3.5"));
+        assertEquals(0.25, parseDouble(".25"));
+        assertEquals(-0.25, parseDouble("-.25"));
+        assertEquals(5, parseDouble("5."));
+        assertEquals(0.1, parseDouble("0.1"));
+        assertEquals(0.0005, parseDouble("0.0005"));
+        assertEquals(612.3456, parseDouble("612.3456 0 Td"));
+        assertEquals(1.5, parseDouble("1.5.5"));
+        assertEquals(1.2345678901234567e25, parseDouble("12345678901234567890123456"), 1e10);
+        assertEquals(0.12345678901234568, parseDouble("0.123456789012345678901234"), 1e-15);
+    }
+
+    @Test
+    public void doublesAsDoubleParseDouble() {
+        Random random = new Random(27);
+        for (int i = 0; i < 10_000; i++) {
+            String digits = Long.toString(100_000_000_000_000_000L + Math.floorMod(random.nextLong(),
+                    900_000_000_000_000_000L));
+            digits = digits.substring(0, 17 + random.nextInt(2));
+            int point = random.nextInt(digits.length() + 1);
+            String value = digits.substring(0, point) + "." + digits.substring(point);
+            assertEquals(Double.parseDouble(value), parseDouble(value), value);
+        }
+        String large = "123456789012345678" + "0".repeat(290);
+        assertEquals(Double.parseDouble(large), parseDouble(large));
+        String small = "0." + "0".repeat(320) + "123456789012345678";
+        assertEquals(Double.parseDouble(small), parseDouble(small));
+        String tiny = "0." + "0".repeat(330) + "1";
+        assertEquals(Double.parseDouble(tiny), parseDouble(tiny));
+        assertEquals(Double.parseDouble("-9.87654321098765432"), parseDouble("-9.87654321098765432"));
+    }
+
+    @Test
+    public void invalidDoubles() {
+        assertThrows(NumberFormatException.class, () -> parseDouble(""));
+        assertThrows(NumberFormatException.class, () -> parseDouble("."));
+        assertThrows(NumberFormatException.class, () -> parseDouble("-."));
+        assertThrows(NumberFormatException.class, () -> parseDouble("Td"));
+    }
+
+    @Test
+    public void readLong() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource("0000000015 00000 n".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(15, AsciiNumberParser.readLong(source));
+        assertEquals(10, source.position());
+        source.forward(1);
+        assertEquals(0, AsciiNumberParser.readLong(source));
+        assertEquals(16, source.position());
+        source.forward(1);
+        assertThrows(NumberFormatException.class, () -> AsciiNumberParser.readLong(source));
+        assertEquals(17, source.position());
+    }
+
+    @Test
+    public void readDouble() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource("-1.5 x".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(-1.5, AsciiNumberParser.readDouble(source));
+        assertEquals(4, source.position());
+        source.forward(1);
+        assertThrows(NumberFormatException.class, () -> AsciiNumberParser.readDouble(source));
+        assertEquals(5, source.position());
+    }
+
+    @Test
+    public void readAtEndOfSource() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource("42".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(42, AsciiNumberParser.readLong(source));
+        assertEquals(2, source.position());
+    }
+}
@@ -128,6 +128,86 @@ public abstract class BaseTestSeekableSource {
         assertEquals(-1, victim().peekBack());
     }
 
+    @Test
+    public void cursor() throws IOException {
+        victim().forward(1);
+        SeekableSource cursor = victim().cursor();
+        assertEquals(0, cursor.position());
+        assertEquals(victim().size(), cursor.size());
+        assertEquals(victim().id(), cursor.id());
+        cursor.forward(2);
+        assertEquals(1, victim().position());
+        assertEquals(2, cursor.position());
+        victim().position(0);
+        cursor.position(0);
+        assertEquals(victim().read(), cursor.read());
+        assertEquals(victim().read(), cursor.read());
+    }
+
+    @Test
+    public void cursorCloseDoesntCloseParent() throws IOException {
+        SeekableSource cursor = victim().cursor();
+        cursor.close();
+        assertFalse(cursor.isOpen());
+        assertTrue(victim().isOpen());
+        assertNotEquals(-1, victim().read());
+    }
+
+    @Test
+    public void parentCloseClosesCursor() throws IOException {
+        SeekableSource cursor = victim().cursor();
+        victim().close();
+        assertFalse(cursor.isOpen());
+        assertThrows(IllegalStateException.class, () -> cursor.read());
+    }
+
+    @Test
+    public void cursorClosed() throws IOException {
+        victim().close();
+        assertThrows(IllegalStateException.class, () -> victim().cursor());
+    }
+
+    @Test
+    public void slice() throws IOException {
+        victim().forward(1);
+        try (SeekableSourceSlice slice = victim().slice(0, 2)) {
+            assertEquals(2, slice.size());
+            assertEquals(2, slice.asByteBuffer().remaining());
+            assertEquals(2, slice.asSegment().byteSize());
+        }
+        assertEquals(1, victim().position());
+    }
+
+    @Test
+    public void sliceTrimmed() throws IOException {
+        try (SeekableSourceSlice slice = victim().slice(victim().size() - 1, 20)) {
+            assertEquals(1, slice.size());
+        }
+        try (SeekableSourceSlice slice = victim().slice(victim().size(), 20)) {
+            assertEquals(0, slice.size());
+        }
+    }
+
+    @Test
+    public void rangeEqualsItself() throws IOException {
+        victim().forward(1);
+        assertTrue(victim().rangeEquals(victim(), 0, 0, victim().size()));
+        assertNotEquals(-1, victim().mismatch(victim(), victim().size() - 1, 0, 2));
+        assertEquals(1, victim().position());
+    }
+
+    @Test
+    public void illegalSlice() {
+        assertThrows(IllegalArgumentException.class, () -> victim().slice(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> victim().slice(0, -2));
+    }
+
+    @Test
+    public void sliceClosed() throws IOException {
+        victim().close();
+        assertThrows(IllegalStateException.class, () -> victim().slice(0, 2));
+    }
+
     @Test
     public void requireOpen() throws IOException {
         assertTrue(victim().isOpen());
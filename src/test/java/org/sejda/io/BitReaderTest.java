@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class BitReaderTest {
+
+    @Test
+    public void invalidArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new BitReader(null, BitReader.Order.MSB_FIRST));
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1 });
+        assertThrows(IllegalArgumentException.class, () -> new BitReader(source, null));
+        BitReader victim = new BitReader(source, BitReader.Order.MSB_FIRST);
+        assertThrows(IllegalArgumentException.class, () -> victim.readBits(0));
+        assertThrows(IllegalArgumentException.class, () -> victim.readBits(33));
+        assertThrows(IllegalArgumentException.class, () -> victim.bitPosition(-1));
+        assertThrows(IllegalArgumentException.class, () -> victim.skipBits(-1));
+    }
+
+    @Test
+    public void msbFirst() throws IOException {
+        BitReader victim = new BitReader(new ByteArraySeekableSource(new byte[] { (byte) 0b10110011, 0x0F, (byte) 0xF0 }),
+                BitReader.Order.MSB_FIRST);
+        assertTrue(victim.readBit());
+        assertEquals(0b011, victim.readBits(3));
+        assertEquals(0b0011_0000_1111, victim.readBits(12));
+        assertEquals(16, victim.bitPosition());
+        assertEquals(0xF, victim.peekBits(4));
+        assertEquals(0xF0, victim.readBits(8));
+    }
+
+    @Test
+    public void lsbFirst() throws IOException {
+        BitReader victim = new BitReader(new ByteArraySeekableSource(new byte[] { (byte) 0b10110011, 0x0F, (byte) 0xF0 }),
+                BitReader.Order.LSB_FIRST);
+        assertTrue(victim.readBit());
+        assertEquals(0b001, victim.readBits(3));
+        assertEquals(0b1111_1011, victim.readBits(8));
+        assertEquals(0x00, victim.readBits(4));
+        assertEquals(0xF0, victim.readBits(8));
+        assertEquals(24, victim.bitPosition());
+    }
+
+    @Test
+    public void thirtyTwoBits() throws IOException {
+        byte[] content = { (byte) 0xFF, (byte) 0xFE, (byte) 0xFD, (byte) 0xFC, 1 };
+        BitReader msb = new BitReader(new ByteArraySeekableSource(content), BitReader.Order.MSB_FIRST);
+        msb.readBits(4);
+        assertEquals(0xFFEFDFC0, msb.readBits(32));
+        BitReader lsb = new BitReader(new ByteArraySeekableSource(content), BitReader.Order.LSB_FIRST);
+        assertEquals(0xFCFDFEFF, lsb.readBits(32));
+        assertEquals(1, lsb.readBits(8));
+    }
+
+    @Test
+    public void randomCodes() throws IOException {
+        byte[] content = new byte[50_000];
+        Random random = new Random(5);
+        random.nextBytes(content);
+        for (BitReader.Order order : BitReader.Order.values()) {
+            BitReader victim = new BitReader(new ByteArraySeekableSource(content), order);
+            long position = 0;
+            while (position < content.length * 8L - 32) {
+                int count = 1 + random.nextInt(32);
+                assertEquals(expected(content, position, count, order), victim.readBits(count),
+                        order + " at bit " + position);
+                position += count;
+                assertEquals(position, victim.bitPosition());
+            }
+        }
+    }
+
+    @Test
+    public void seek() throws IOException {
+        byte[] content = new byte[30_000];
+        Random random = new Random(9);
+        random.nextBytes(content);
+        for (BitReader.Order order : BitReader.Order.values()) {
+            BitReader victim = new BitReader(new ByteArraySeekableSource(content), order);
+            for (int i = 0; i < 1000; i++) {
+                long position = random.nextLong(content.length * 8L - 32);
+                int count = 1 + random.nextInt(32);
+                victim.bitPosition(position);
+                assertEquals(position, victim.bitPosition());
+                assertEquals(expected(content, position, count, order), victim.readBits(count));
+                long skip = random.nextInt(100);
+                if (position + count + skip < content.length * 8L - 32) {
+                    victim.skipBits(skip);
+                    assertEquals(expected(content, position + count + skip, 32, order), victim.readBits(32));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void startsAtSourcePosition() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1, 2, 3 });
+        source.position(1);
+        BitReader victim = new BitReader(source, BitReader.Order.MSB_FIRST);
+        assertEquals(8, victim.bitPosition());
+        assertEquals(2, victim.readBits(8));
+    }
+
+    @Test
+    public void alignToByte() throws IOException {
+        BitReader victim = new BitReader(new ByteArraySeekableSource(new byte[] { (byte) 0xFF, 0x55 }),
+                BitReader.Order.MSB_FIRST);
+        victim.alignToByte();
+        assertEquals(0, victim.bitPosition());
+        victim.readBits(3);
+        victim.alignToByte();
+        assertEquals(8, victim.bitPosition());
+        assertEquals(0x55, victim.readBits(8));
+    }
+
+    @Test
+    public void endOfSource() throws IOException {
+        BitReader victim = new BitReader(new ByteArraySeekableSource(new byte[] { (byte) 0xFF }),
+                BitReader.Order.MSB_FIRST);
+        victim.readBits(5);
+        assertEquals(0b11100, victim.peekBits(5));
+        assertThrows(EOFException.class, () -> victim.readBits(4));
+        assertEquals(5, victim.bitPosition());
+        assertEquals(0b111, victim.readBits(3));
+        assertThrows(EOFException.class, victim::readBit);
+        victim.bitPosition(100);
+        assertThrows(EOFException.class, victim::readBit);
+        victim.bitPosition(2);
+        assertEquals(0b111111, victim.readBits(6));
+    }
+
+    private static int expected(byte[] content, long position, int count, BitReader.Order order) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            long bit = position + i;
+            int b = content[(int) (bit >>> 3)] & 0xFF;
+            if (order == BitReader.Order.MSB_FIRST) {
+                value = (value << 1) | ((b >>> (7 - (bit & 7))) & 1);
+            } else {
+                value |= ((b >>> (bit & 7)) & 1) << i;
+            }
+        }
+        return value;
+    }
+}
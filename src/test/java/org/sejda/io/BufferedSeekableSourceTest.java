@@ -20,11 +20,20 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Andrea Vacondio
@@ -45,6 +54,88 @@ public class BufferedSeekableSourceTest extends BaseTestSeekableSource {
                 "Input decorated SeekableSource cannot be null");
     }
 
+    @Test
+    public void willNeedAndDontNeedAreDelegated() throws IOException {
+        SeekableSource source = mock(SeekableSource.class);
+        when(source.size()).thenReturn(100L);
+        BufferedSeekableSource buffered = new BufferedSeekableSource(source);
+        buffered.willNeed(List.of(new ByteRange(10, 20)));
+        verify(source).willNeed(List.of(new ByteRange(10, 20)));
+        buffered.dontNeed(new ByteRange(10, 20));
+        verify(source).dontNeed(new ByteRange(10, 20));
+    }
+
+    @Test
+    public void sequentialReadsHintReadahead() throws IOException {
+        SeekableSource source = mock(SeekableSource.class);
+        when(source.size()).thenReturn(100_000L);
+        when(source.read(any())).thenAnswer(a -> {
+            ByteBuffer dst = a.getArgument(0);
+            int read = dst.remaining();
+            dst.position(dst.limit());
+            return read;
+        });
+        SeekableSourceOptions options = SeekableSourceOptions.builder().inputBufferSize(1000).readahead(10_000)
+                .build();
+        try (BufferedSeekableSource buffered = new BufferedSeekableSource(source, options)) {
+            buffered.read();
+            verify(source).willNeed(List.of(new ByteRange(1000, 10_000)));
+            for (int position = 1000; position <= 6000; position += 1000) {
+                buffered.position(position);
+                buffered.read();
+            }
+            verify(source).willNeed(List.of(new ByteRange(11_000, 10_000)));
+            buffered.position(50_000);
+            buffered.read();
+            verify(source, times(2)).willNeed(any());
+        }
+    }
+
+    @Test
+    public void directBuffers() throws IOException {
+        SeekableSourceOptions options = SeekableSourceOptions.builder().directBuffers(true).build();
+        try (BufferedSeekableSource buffered = new BufferedSeekableSource(
+                new ByteArraySeekableSource(new byte[] { 'a', 'b', 'c' }), options)) {
+            assertEquals('a', buffered.read());
+            assertEquals('b', buffered.view(1, 2).read());
+            assertEquals(123, new BufferedSeekableSource(
+                    new ByteArraySeekableSource("123".getBytes(StandardCharsets.US_ASCII)), options).readAsciiLong());
+        }
+    }
+
+    @Test
+    public void viewIsFused() throws IOException {
+        try (BufferedSeekableSource source = new BufferedSeekableSource(
+                new ByteArraySeekableSource("0123456789".getBytes(StandardCharsets.US_ASCII)))) {
+            source.position(5);
+            SeekableSource view = source.view(2, 6);
+            assertInstanceOf(BufferedSeekableSource.class, view);
+            assertInstanceOf(ByteArraySeekableSource.class, ((BufferedSeekableSource) view).wrapped());
+            assertEquals(6, view.size());
+            assertEquals('2', view.read());
+            SeekableSource viewOfView = view.view(3, 10);
+            assertEquals(3, viewOfView.size());
+            assertEquals('5', viewOfView.read());
+            assertEquals('6', viewOfView.read());
+            assertEquals('7', viewOfView.read());
+            assertEquals(-1, viewOfView.read());
+            assertEquals('5', source.read());
+            source.close();
+            assertThrows(IllegalStateException.class, view::read);
+        }
+    }
+
+    @Test
+    public void viewOfSourceWithoutCursors() throws IOException {
+        SeekableSource source = mock(SeekableSource.class);
+        SeekableSource view = mock(SeekableSource.class);
+        when(source.size()).thenReturn(10L);
+        when(source.supportsCursors()).thenReturn(false);
+        when(source.view(2, 5)).thenReturn(view);
+        SeekableSource result = new BufferedSeekableSource(source).view(2, 5);
+        assertSame(view, ((BufferedSeekableSource) result).wrapped());
+    }
+
     @Test
     public void constructor() {
         assertEquals(wrapped.id(), victim.id());
@@ -109,6 +200,33 @@ public class BufferedSeekableSourceTest extends BaseTestSeekableSource {
         assertEquals(-1, victim.read());
     }
 
+    @Test
+    public void readAsciiNumbers() throws IOException {
+        System.setProperty(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY, "4");
+        try {
+            victim = new BufferedSeekableSource(new ByteArraySeekableSource(
+                    "0000000015 00000 n -12.75 x".getBytes(StandardCharsets.US_ASCII)));
+            assertEquals(15, victim.readAsciiLong());
+            assertEquals(10, victim.position());
+            assertEquals(' ', victim.read());
+            assertEquals(0, victim.readAsciiLong());
+            assertEquals(16, victim.position());
+            victim.forward(1);
+            assertThrows(NumberFormatException.class, () -> victim.readAsciiLong());
+            assertEquals(17, victim.position());
+            assertEquals('n', victim.read());
+            victim.forward(1);
+            assertEquals(-12.75, victim.readAsciiDouble());
+            assertEquals(25, victim.position());
+            assertEquals(' ', victim.read());
+            assertThrows(NumberFormatException.class, () -> victim.readAsciiDouble());
+            assertEquals(26, victim.position());
+            assertEquals('x', victim.read());
+        } finally {
+            System.getProperties().remove(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY);
+        }
+    }
+
     @Test
     public void closedWrapped() throws IOException {
         this.wrapped.close();
@@ -20,10 +20,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Andrea Vacondio
@@ -91,6 +93,40 @@ public class ByteArraySeekableSourceTest extends BaseTestSeekableSource {
         assertEquals(-1, victim.read());
     }
 
+    @Test
+    public void readAsciiNumbers() throws IOException {
+        victim = new ByteArraySeekableSource("15 0 R 612.5".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(15, victim.readAsciiLong());
+        assertEquals(2, victim.position());
+        victim.forward(1);
+        assertEquals(0, victim.readAsciiLong());
+        victim.forward(1);
+        assertThrows(NumberFormatException.class, () -> victim.readAsciiDouble());
+        assertEquals(5, victim.position());
+        victim.forward(2);
+        assertEquals(612.5, victim.readAsciiDouble());
+        assertEquals(victim.size(), victim.position());
+    }
+
+    @Test
+    public void parentCloseClosesViews() throws IOException {
+        SeekableSource view = victim.view(1, 2);
+        assertEquals('b', view.read());
+        victim.close();
+        assertThrows(IllegalStateException.class, () -> view.read());
+    }
+
+    @Test
+    public void zeroCopySlice() throws IOException {
+        try (SeekableSourceSlice slice = victim.slice(1, 2)) {
+            assertTrue(slice.isZeroCopy());
+            assertTrue(slice.asByteBuffer().isReadOnly());
+            assertTrue(slice.asSegment().isReadOnly());
+            assertEquals(98, slice.asByteBuffer().get());
+            assertEquals(99, slice.asByteBuffer().get(1));
+        }
+    }
+
     @Override
     SeekableSource victim() {
         return victim;
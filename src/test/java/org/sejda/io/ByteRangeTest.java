@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ByteRangeTest {
+
+    @Test
+    public void negativePosition() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteRange(-1, 10));
+    }
+
+    @Test
+    public void negativeLength() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteRange(0, -1));
+    }
+
+    @Test
+    public void end() {
+        assertEquals(15, new ByteRange(5, 10).end());
+        assertEquals(5, new ByteRange(5, 0).end());
+        assertEquals(Long.MAX_VALUE, new ByteRange(5, Long.MAX_VALUE).end());
+        assertEquals(Long.MAX_VALUE, new ByteRange(Long.MAX_VALUE, Long.MAX_VALUE).end());
+    }
+
+    @Test
+    public void translate() {
+        assertEquals(new ByteRange(15, 10), new ByteRange(5, 10).translate(10, 100));
+        assertEquals(new ByteRange(15, 5), new ByteRange(5, 10).translate(10, 10));
+        assertEquals(new ByteRange(20, 0), new ByteRange(50, 10).translate(10, 10));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class ChunkStoreTest {
+
+    @Test
+    public void nullInput() {
+        ChunkStore victim = new ChunkStore();
+        assertThrows(IllegalArgumentException.class, () -> victim.add((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> victim.add((InputStream) null));
+    }
+
+    @Test
+    public void cutPoints() {
+        byte[] content = randomContent(ChunkStore.MAX_CHUNK_SIZE, 1);
+        assertEquals(100, ChunkStore.cutPoint(content, 100));
+        int cut = ChunkStore.cutPoint(content, content.length);
+        assertTrue(cut > ChunkStore.MIN_CHUNK_SIZE && cut <= ChunkStore.MAX_CHUNK_SIZE);
+        assertEquals(ChunkStore.MAX_CHUNK_SIZE, ChunkStore.cutPoint(new byte[ChunkStore.MAX_CHUNK_SIZE],
+                ChunkStore.MAX_CHUNK_SIZE));
+    }
+
+    @Test
+    public void chunkSizeDistribution() {
+        byte[] content = randomContent(8_000_000, 5);
+        int chunks = 0;
+        int maxSized = 0;
+        int offset = 0;
+        while (content.length - offset > ChunkStore.MAX_CHUNK_SIZE) {
+            int cut = ChunkStore.cutPoint(Arrays.copyOfRange(content, offset, offset + ChunkStore.MAX_CHUNK_SIZE),
+                    ChunkStore.MAX_CHUNK_SIZE);
+            assertTrue(cut > ChunkStore.MIN_CHUNK_SIZE);
+            if (cut == ChunkStore.MAX_CHUNK_SIZE) {
+                maxSized++;
+            }
+            chunks++;
+            offset += cut;
+        }
+        long average = offset / chunks;
+        // minimum plus 8KB on average
+        assertTrue(average > ChunkStore.MIN_CHUNK_SIZE + 6_000 && average < ChunkStore.MIN_CHUNK_SIZE + 10_000,
+                "Average chunk size " + average);
+        assertTrue(maxSized * 100 < chunks, "Too many chunks cut at the maximum size " + maxSized);
+    }
+
+    @Test
+    public void identicalContentIsShared() throws IOException {
+        ChunkStore victim = new ChunkStore();
+        byte[] content = randomContent(500_000, 2);
+        ChunkedSeekableSource first = victim.add(content);
+        long stored = victim.storedBytes();
+        int chunks = victim.chunks();
+        ChunkedSeekableSource second = victim.add(content);
+        assertEquals(content.length, stored);
+        assertEquals(stored, victim.storedBytes());
+        assertEquals(chunks, victim.chunks());
+        assertArrayEquals(content, readAll(second));
+        first.close();
+        assertEquals(chunks, victim.chunks());
+        assertArrayEquals(content, readAll(second));
+        second.close();
+        assertEquals(0, victim.chunks());
+    }
+
+    @Test
+    public void revisionsShareMostChunks() throws IOException {
+        ChunkStore victim = new ChunkStore();
+        byte[] original = randomContent(1_000_000, 3);
+        byte[] revision = new byte[original.length + 100];
+        System.arraycopy(original, 0, revision, 0, 400_000);
+        System.arraycopy(original, 400_000, revision, 400_100, original.length - 400_000);
+        try (ChunkedSeekableSource first = victim.add(original); ChunkedSeekableSource second = victim.add(
+                revision)) {
+            assertTrue(victim.storedBytes() < original.length + 3L * ChunkStore.MAX_CHUNK_SIZE);
+            assertArrayEquals(original, readAll(first));
+            assertArrayEquals(revision, readAll(second));
+        }
+        assertEquals(0, victim.chunks());
+    }
+
+    @Test
+    public void memoryBudget() throws IOException {
+        long used = MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY);
+        ChunkStore victim = new ChunkStore();
+        byte[] content = randomContent(100_000, 4);
+        ChunkedSeekableSource first = victim.add(content);
+        ChunkedSeekableSource second = victim.add(content);
+        assertEquals(used + content.length, MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY));
+        first.close();
+        first.close();
+        second.close();
+        assertEquals(used, MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY));
+    }
+
+    static byte[] readAll(SeekableSource source) throws IOException {
+        ByteBuffer dst = ByteBuffer.allocate((int) source.size());
+        source.position(0);
+        while (dst.hasRemaining() && source.read(dst) > 0) {
+            // keep reading
+        }
+        return dst.array();
+    }
+
+    private static byte[] randomContent(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class ChunkedSeekableSourceTest extends BaseTestSeekableSource {
+    private ChunkedSeekableSource victim;
+    private byte[] expected;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        victim = new ChunkStore().add(expected);
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        assertEquals(expected.length, victim.size());
+        assertArrayEquals(expected, ChunkStoreTest.readAll(victim));
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void randomAccessAcrossChunks() throws IOException {
+        byte[] content = new byte[1_000_000];
+        new Random(42).nextBytes(content);
+        try (ChunkedSeekableSource source = new ChunkStore().add(content)) {
+            SeekableSource cursor = source.cursor();
+            Random random = new Random(24);
+            for (int i = 0; i < 500; i++) {
+                int position = random.nextInt(content.length);
+                cursor.position(position);
+                assertEquals(content[position] & 0xff, cursor.read());
+                ByteBuffer dst = ByteBuffer.allocate(random.nextInt(100_000));
+                cursor.read(dst);
+                dst.flip();
+                for (int j = 0; dst.hasRemaining(); j++) {
+                    assertEquals(content[position + 1 + j], dst.get());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void zeroCopySlices() throws IOException {
+        try (SeekableSourceSlice slice = victim.slice(10, 20)) {
+            assertTrue(slice.isZeroCopy());
+            assertEquals(expected[10], slice.asByteBuffer().get(0));
+        }
+        byte[] content = new byte[500_000];
+        new Random(42).nextBytes(content);
+        try (ChunkedSeekableSource source = new ChunkStore().add(content);
+                SeekableSourceSlice slice = source.slice(0, 200_000)) {
+            assertFalse(slice.isZeroCopy());
+            assertEquals(200_000, slice.size());
+            assertEquals(content[199_999], slice.asByteBuffer().get(199_999));
+        }
+    }
+
+    @Test
+    public void emptyContent() throws IOException {
+        try (ChunkedSeekableSource source = new ChunkStore().add(new byte[0])) {
+            assertEquals(0, source.size());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
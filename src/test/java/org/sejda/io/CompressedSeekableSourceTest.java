@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class CompressedSeekableSourceTest extends BaseTestSeekableSource {
+    private CompressedSeekableSource victim;
+    private byte[] expected;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        victim = new CompressedSeekableSource(expected);
+    }
+
+    @Test
+    public void nullInput() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedSeekableSource((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> new CompressedSeekableSource((InputStream) null));
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        assertEquals(expected.length, victim.size());
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, Arrays.copyOf(dst.array(), expected.length));
+        assertEquals(-1, victim.read());
+        assertEquals(-1, victim.read(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void compresses() {
+        assertTrue(victim.compressedSize() < expected.length);
+    }
+
+    @Test
+    public void randomAccessAcrossBlocks() throws IOException {
+        byte[] content = mixedContent(1_000_000);
+        try (CompressedSeekableSource source = new CompressedSeekableSource(new ByteArrayInputStream(content))) {
+            assertEquals(content.length, source.size());
+            assertTrue(source.compressedSize() < content.length);
+            SeekableSource cursor = source.cursor();
+            Random random = new Random(24);
+            for (int i = 0; i < 500; i++) {
+                int position = random.nextInt(content.length);
+                cursor.position(position);
+                assertEquals(content[position] & 0xff, cursor.read());
+                ByteBuffer dst = ByteBuffer.allocate(random.nextInt(200_000));
+                cursor.read(dst);
+                dst.flip();
+                for (int j = 0; dst.hasRemaining(); j++) {
+                    assertEquals(content[position + 1 + j], dst.get());
+                }
+            }
+            source.position(content.length - 1);
+            assertEquals(content[content.length - 1] & 0xff, source.read());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void emptyContent() throws IOException {
+        try (CompressedSeekableSource source = new CompressedSeekableSource(new byte[0])) {
+            assertEquals(0, source.size());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void memoryBudget() throws IOException {
+        long used = MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY);
+        CompressedSeekableSource source = new CompressedSeekableSource(expected);
+        assertEquals(used + source.compressedSize(), MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY));
+        source.cursor().close();
+        source.close();
+        source.close();
+        assertEquals(used, MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY));
+    }
+
+    /**
+     * Compressible text interleaved with random, incompressible, blocks
+     */
+    private static byte[] mixedContent(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            if ((i / 70_000) % 3 == 2) {
+                content[i] = (byte) random.nextInt();
+            } else {
+                content[i] = (byte) ("0 0 Td (Chuck Norris) Tj ET\n".charAt(i % 28));
+            }
+        }
+        return content;
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
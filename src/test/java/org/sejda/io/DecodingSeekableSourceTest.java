@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class DecodingSeekableSourceTest extends BaseTestSeekableSource {
+    private DecodingSeekableSource victim;
+    private byte[] expected;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        victim = new DecodingSeekableSource(new ByteArraySeekableSource(Base64.getMimeEncoder().encode(expected)),
+                DecodingSeekableSource.Encoding.BASE64);
+    }
+
+    @Test
+    public void nullInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DecodingSeekableSource(null, DecodingSeekableSource.Encoding.HEX));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DecodingSeekableSource(new ByteArraySeekableSource(new byte[0]), null));
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        assertEquals(expected.length, victim.size());
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, Arrays.copyOf(dst.array(), expected.length));
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void base64() throws IOException {
+        assertDecodes("", "", DecodingSeekableSource.Encoding.BASE64);
+        assertDecodes("a", "YQ==", DecodingSeekableSource.Encoding.BASE64);
+        assertDecodes("ab", "YWI", DecodingSeekableSource.Encoding.BASE64);
+        assertDecodes("abc", " Y W\r\nJ j ", DecodingSeekableSource.Encoding.BASE64);
+        assertDecodes("?>?", "Pz4/", DecodingSeekableSource.Encoding.BASE64);
+    }
+
+    @Test
+    public void hex() throws IOException {
+        assertDecodes("", " ", DecodingSeekableSource.Encoding.HEX);
+        assertDecodes("abc", "61 62\n63", DecodingSeekableSource.Encoding.HEX);
+        assertDecodes("AZ", "415a", DecodingSeekableSource.Encoding.HEX);
+        assertDecodes("p", "7", DecodingSeekableSource.Encoding.HEX);
+    }
+
+    @Test
+    public void viewsNeedWrappedCursors() throws IOException {
+        try (SeekableSource source = new DecodingSeekableSource(
+                new ByteArraySeekableSource(Base64.getEncoder().encode(expected)) {
+                    @Override
+                    public boolean supportsCursors() {
+                        return false;
+                    }
+                }, DecodingSeekableSource.Encoding.BASE64)) {
+            assertFalse(source.supportsCursors());
+            assertThrows(UnsupportedOperationException.class, () -> source.view(0, 10));
+        }
+    }
+
+    @Test
+    public void invalidContent() {
+        assertThrows(IOException.class, () -> decode("YW*I", DecodingSeekableSource.Encoding.BASE64));
+        assertThrows(IOException.class, () -> decode("YWJjZ", DecodingSeekableSource.Encoding.BASE64));
+        assertThrows(IOException.class, () -> decode("YQ==YQ", DecodingSeekableSource.Encoding.BASE64));
+        assertThrows(IOException.class, () -> decode("6G", DecodingSeekableSource.Encoding.HEX));
+    }
+
+    @Test
+    public void randomAccess(@TempDir Path temp) throws IOException {
+        byte[] content = new byte[500_000];
+        new Random(13).nextBytes(content);
+        Path base64 = Files.write(temp.resolve("base64.txt"), Base64.getMimeEncoder().encode(content));
+        Path plainBase64 = Files.write(temp.resolve("plain.txt"), Base64.getEncoder().encode(content));
+        Path hex = Files.write(temp.resolve("hex.txt"),
+                HexFormat.ofDelimiter(" ").formatHex(content).getBytes(StandardCharsets.US_ASCII));
+        try (SeekableSource mime = new DecodingSeekableSource(SeekableSources.seekableSourceFrom(base64),
+                DecodingSeekableSource.Encoding.BASE64);
+                SeekableSource plain = new DecodingSeekableSource(new MemoryMappedSeekableSource(plainBase64),
+                        DecodingSeekableSource.Encoding.BASE64);
+                SeekableSource hexSource = SeekableSources.decodingSeekableSourceFrom(
+                        new FileChannelSeekableSource(hex), DecodingSeekableSource.Encoding.HEX)) {
+            for (SeekableSource source : new SeekableSource[] { mime, plain, hexSource }) {
+                assertEquals(content.length, source.size());
+                SeekableSource cursor = source.cursor();
+                Random random = new Random(24);
+                for (int i = 0; i < 300; i++) {
+                    int position = random.nextInt(content.length);
+                    cursor.position(position);
+                    assertEquals(content[position] & 0xff, cursor.read());
+                    ByteBuffer dst = ByteBuffer.allocate(random.nextInt(120_000));
+                    cursor.read(dst);
+                    dst.flip();
+                    for (int j = 0; dst.hasRemaining(); j++) {
+                        assertEquals(content[position + 1 + j], dst.get());
+                    }
+                }
+                SeekableSource view = source.view(content.length - 10, 20);
+                assertEquals(10, view.size());
+                assertEquals(content[content.length - 10] & 0xff, view.read());
+                source.position(content.length - 1);
+                assertEquals(content[content.length - 1] & 0xff, source.read());
+                assertEquals(-1, source.read());
+            }
+        }
+    }
+
+    @Test
+    public void closesWrapped() throws IOException {
+        SeekableSource wrapped = new ByteArraySeekableSource("YWJj".getBytes(StandardCharsets.US_ASCII));
+        SeekableSource source = new DecodingSeekableSource(wrapped, DecodingSeekableSource.Encoding.BASE64);
+        source.cursor().close();
+        assertEquals('a', source.read());
+        source.close();
+        assertFalse(wrapped.isOpen());
+    }
+
+    private static void assertDecodes(String expected, String encoded, DecodingSeekableSource.Encoding encoding)
+            throws IOException {
+        assertArrayEquals(expected.getBytes(StandardCharsets.US_ASCII), decode(encoded, encoding));
+    }
+
+    private static byte[] decode(String encoded, DecodingSeekableSource.Encoding encoding) throws IOException {
+        try (SeekableSource source = new DecodingSeekableSource(
+                new ByteArraySeekableSource(encoded.getBytes(StandardCharsets.US_ASCII)), encoding)) {
+            ByteBuffer dst = ByteBuffer.allocate((int) source.size());
+            while (dst.hasRemaining() && source.read(dst) > 0) {
+                // keep reading
+            }
+            return dst.array();
+        }
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
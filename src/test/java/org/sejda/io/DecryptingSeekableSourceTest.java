@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class DecryptingSeekableSourceTest extends BaseTestSeekableSource {
+    private DecryptingSeekableSource victim;
+    private byte[] expected;
+    private SecretKey key;
+    private byte[] iv;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        Random random = new Random(17);
+        byte[] keyBytes = new byte[32];
+        random.nextBytes(keyBytes);
+        key = new SecretKeySpec(keyBytes, "AES");
+        iv = new byte[16];
+        random.nextBytes(iv);
+        victim = new DecryptingSeekableSource(new ByteArraySeekableSource(encrypt(expected, key, iv)), key, iv);
+    }
+
+    @Test
+    public void nullInput() {
+        SeekableSource source = new ByteArraySeekableSource(new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSeekableSource(null, key, iv));
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSeekableSource(source, null, iv));
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSeekableSource(source, key, null));
+    }
+
+    @Test
+    public void invalidArguments() {
+        SeekableSource source = new ByteArraySeekableSource(new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSeekableSource(source, key, new byte[8]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DecryptingSeekableSource(source, new SecretKeySpec(new byte[5], "AES"), iv));
+    }
+
+    @Test
+    public void viewsNeedWrappedCursors() throws Exception {
+        try (SeekableSource source = new DecryptingSeekableSource(new ByteArraySeekableSource(encrypt(expected, key, iv)) {
+            @Override
+            public boolean supportsCursors() {
+                return false;
+            }
+        }, key, iv)) {
+            assertFalse(source.supportsCursors());
+            assertThrows(UnsupportedOperationException.class, () -> source.view(0, 10));
+        }
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        assertEquals(expected.length, victim.size());
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, Arrays.copyOf(dst.array(), expected.length));
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void randomAccess(@TempDir Path temp) throws Exception {
+        byte[] content = new byte[700_000];
+        new Random(3).nextBytes(content);
+        // the counter overflows into the high 64 bits while decrypting
+        byte[] overflowingIv = new byte[16];
+        Arrays.fill(overflowingIv, 8, 16, (byte) 0xFF);
+        overflowingIv[15] = (byte) 0xF0;
+        Path file = Files.write(temp.resolve("encrypted.bin"), encrypt(content, key, overflowingIv));
+        try (SeekableSource source = SeekableSources.decryptingSeekableSourceFrom(
+                SeekableSources.seekableSourceFrom(file), key, overflowingIv)) {
+            assertEquals(content.length, source.size());
+            SeekableSource cursor = source.cursor();
+            Random random = new Random(24);
+            for (int i = 0; i < 300; i++) {
+                int position = random.nextInt(content.length);
+                cursor.position(position);
+                assertEquals(content[position] & 0xff, cursor.read());
+                ByteBuffer dst = ByteBuffer.allocate(random.nextInt(150_000));
+                cursor.read(dst);
+                dst.flip();
+                for (int j = 0; dst.hasRemaining(); j++) {
+                    assertEquals(content[position + 1 + j], dst.get());
+                }
+            }
+            SeekableSource view = source.view(content.length - 10, 20);
+            assertEquals(10, view.size());
+            assertEquals(content[content.length - 10] & 0xff, view.read());
+            source.position(content.length - 1);
+            assertEquals(content[content.length - 1] & 0xff, source.read());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void closesWrapped() throws Exception {
+        SeekableSource wrapped = new ByteArraySeekableSource(encrypt(expected, key, iv));
+        SeekableSource source = new DecryptingSeekableSource(wrapped, key, iv);
+        source.cursor().close();
+        assertEquals(expected[0] & 0xff, source.read());
+        source.close();
+        assertFalse(wrapped.isOpen());
+    }
+
+    private static byte[] encrypt(byte[] content, SecretKey key, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+        return cipher.doFinal(content);
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class DeflateDecoderTest {
+
+    @Test
+    public void levelsAndStrategies() throws IOException {
+        byte[] content = content(300_000);
+        for (int level : new int[] { Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION,
+                Deflater.BEST_COMPRESSION }) {
+            for (int strategy : new int[] { Deflater.DEFAULT_STRATEGY, Deflater.HUFFMAN_ONLY, Deflater.FILTERED }) {
+                assertArrayEquals(content, inflate(deflate(content, level, strategy)),
+                        "Level " + level + " strategy " + strategy);
+            }
+        }
+    }
+
+    @Test
+    public void fixedHuffman() throws IOException {
+        // short inputs are compressed with the fixed codes
+        byte[] content = "abcabcabcabc hello hello".getBytes();
+        assertArrayEquals(content, inflate(deflate(content, Deflater.BEST_COMPRESSION, Deflater.DEFAULT_STRATEGY)));
+        assertArrayEquals(new byte[0], inflate(deflate(new byte[0], Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY)));
+    }
+
+    @Test
+    public void resumeAtBlockBoundary() throws IOException {
+        byte[] content = content(500_000);
+        byte[] deflated = deflate(content, Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY);
+        BitReader bits = new BitReader(new ByteArraySeekableSource(deflated), BitReader.Order.LSB_FIRST);
+        DeflateDecoder victim = new DeflateDecoder(bits);
+        victim.reset(new byte[0]);
+        byte[] out = new byte[1000];
+        long total = 0;
+        long bitPosition = -1;
+        long resumePosition = 0;
+        byte[] window = null;
+        int inflated;
+        while ((inflated = victim.inflate(out, 0, out.length)) >= 0) {
+            total += inflated;
+            if (bitPosition < 0 && total > 200_000 && victim.isBlockBoundary()) {
+                bitPosition = bits.bitPosition();
+                resumePosition = total;
+                window = victim.window();
+            }
+        }
+        assertEquals(content.length, total);
+        assertEquals(DeflateDecoder.WINDOW_SIZE, window.length);
+
+        BitReader resumedBits = new BitReader(new ByteArraySeekableSource(deflated), BitReader.Order.LSB_FIRST);
+        resumedBits.bitPosition(bitPosition);
+        DeflateDecoder resumed = new DeflateDecoder(resumedBits);
+        resumed.reset(window);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        while ((inflated = resumed.inflate(out, 0, out.length)) >= 0) {
+            result.write(out, 0, inflated);
+        }
+        assertArrayEquals(Arrays.copyOfRange(content, (int) resumePosition, content.length), result.toByteArray());
+    }
+
+    @Test
+    public void invalidData() {
+        // reserved block type
+        assertThrows(IOException.class, () -> inflate(new byte[] { 0x07 }));
+        // stored block with wrong length complement
+        assertThrows(IOException.class, () -> inflate(new byte[] { 0x01, 0x05, 0x00, 0x00, 0x00 }));
+        // distance too far back
+        assertThrows(IOException.class, () -> inflate(new byte[] { 0x03, 0x02, 0x00 }));
+        // truncated
+        byte[] deflated = deflate(content(10_000), Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY);
+        assertThrows(IOException.class, () -> inflate(Arrays.copyOf(deflated, deflated.length / 2)));
+    }
+
+    private static byte[] inflate(byte[] deflated) throws IOException {
+        DeflateDecoder victim = new DeflateDecoder(
+                new BitReader(new ByteArraySeekableSource(deflated), BitReader.Order.LSB_FIRST));
+        victim.reset(new byte[0]);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] out = new byte[777];
+        int inflated;
+        while ((inflated = victim.inflate(out, 0, out.length)) >= 0) {
+            result.write(out, 0, inflated);
+        }
+        return result.toByteArray();
+    }
+
+    static byte[] deflate(byte[] content, int level, int strategy) {
+        Deflater deflater = new Deflater(level, true);
+        deflater.setStrategy(strategy);
+        deflater.setInput(content);
+        deflater.finish();
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] out = new byte[8192];
+        while (!deflater.finished()) {
+            result.write(out, 0, deflater.deflate(out));
+        }
+        deflater.end();
+        return result.toByteArray();
+    }
+
+    /**
+     * Compressible text interleaved with random, incompressible, runs
+     */
+    static byte[] content(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(42);
+        String text = "1 0 obj\n<< /Type /Page /Contents 2 0 R >>\nendobj\n";
+        for (int i = 0; i < size; i++) {
+            if ((i / 40_000) % 3 == 2) {
+                content[i] = (byte) random.nextInt();
+            } else {
+                content[i] = (byte) text.charAt((i + random.nextInt(2)) % text.length());
+            }
+        }
+        return content;
+    }
+}
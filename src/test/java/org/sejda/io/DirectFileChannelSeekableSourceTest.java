@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class DirectFileChannelSeekableSourceTest extends BaseTestSeekableSource {
+    private DirectFileChannelSeekableSource victim;
+    private Path tempFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempFile = Files.createTempFile("SejdaIO", null);
+        Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        victim = new DirectFileChannelSeekableSource(tempFile);
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        System.getProperties().remove(SeekableSources.DIRECT_BUFFER_SIZE_PROPERTY);
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    public void nullFile() {
+        assertThrows(IllegalArgumentException.class, () -> new DirectFileChannelSeekableSource((File) null),
+                "Input file cannot be null");
+    }
+
+    @Test
+    public void nullPath() {
+        assertThrows(IllegalArgumentException.class, () -> new DirectFileChannelSeekableSource((Path) null),
+                "Input file cannot be null");
+    }
+
+    @Test
+    public void read() throws IOException {
+        assertEquals(0, victim.position());
+        assertEquals('%', victim.read());
+        assertEquals('P', victim.read());
+        assertEquals(2, victim.position());
+        victim.position(victim.size());
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void readBuff() throws IOException {
+        ByteBuffer dst = ByteBuffer.allocate(20);
+        victim.read(dst);
+        dst.flip();
+        assertEquals(20, dst.remaining());
+        assertEquals(20, victim.position());
+        victim.position(victim.size());
+        ByteBuffer empty = ByteBuffer.allocate(10);
+        assertEquals(-1, victim.read(empty));
+        empty.flip();
+        assertFalse(empty.hasRemaining());
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        byte[] expected = Files.readAllBytes(tempFile);
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, copy(dst.flip()));
+    }
+
+    @Test
+    public void randomAccessAcrossBlocks() throws IOException {
+        System.setProperty(SeekableSources.DIRECT_BUFFER_SIZE_PROPERTY, "1");
+        Path bigFile = Files.createTempFile("SejdaIO", null);
+        try {
+            byte[] expected = new byte[50_000];
+            new Random(42).nextBytes(expected);
+            Files.write(bigFile, expected);
+            victim = new DirectFileChannelSeekableSource(bigFile);
+            Random random = new Random(24);
+            for (int i = 0; i < 200; i++) {
+                int position = random.nextInt(expected.length);
+                victim.position(position);
+                assertEquals(expected[position] & 0xff, victim.read());
+                ByteBuffer dst = ByteBuffer.allocate(random.nextInt(9000));
+                victim.read(dst);
+                dst.flip();
+                for (int j = 0; dst.hasRemaining(); j++) {
+                    assertEquals(expected[position + 1 + j], dst.get());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(bigFile);
+        }
+    }
+
+    @Test
+    public void viewsKeepSeparatePositions() throws IOException {
+        var view1 = victim.view(5, 25);
+        view1.position(20);
+        var view2 = victim.view(10, 20);
+        view2.position(15);
+        assertEquals(20, view1.position());
+        assertEquals(15, view2.position());
+        assertNotEquals(-1, view1.read());
+    }
+
+    @Test
+    public void positionAfterSize() {
+        victim.position(victim.size() + 10);
+        assertEquals(victim.size(), victim.position());
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class FileChannelPoolTest {
+
+    @Test
+    public void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new FileChannelPool(0));
+    }
+
+    @Test
+    public void lazyOpen(@TempDir Path temp) throws IOException {
+        FileChannelPool victim = new FileChannelPool(2);
+        FileChannelPool.PooledChannel pooled = victim.register(Files.writeString(temp.resolve("a"), "chuck"));
+        assertEquals(0, victim.openChannels());
+        FileChannel channel = pooled.get();
+        assertTrue(channel.isOpen());
+        assertSame(channel, pooled.get());
+        assertEquals(1, victim.openChannels());
+        pooled.close();
+        assertFalse(channel.isOpen());
+        assertEquals(0, victim.openChannels());
+    }
+
+    @Test
+    public void evictsNotRecentlyUsed(@TempDir Path temp) throws IOException {
+        FileChannelPool victim = new FileChannelPool(2);
+        FileChannelPool.PooledChannel a = victim.register(Files.writeString(temp.resolve("a"), "a"));
+        FileChannelPool.PooledChannel b = victim.register(Files.writeString(temp.resolve("b"), "b"));
+        FileChannelPool.PooledChannel c = victim.register(Files.writeString(temp.resolve("c"), "c"));
+        FileChannel channelA = a.get();
+        FileChannel channelB = b.get();
+        FileChannel channelC = c.get();
+        assertEquals(2, victim.openChannels());
+        assertTrue(channelC.isOpen());
+        assertTrue(channelA.isOpen() ^ channelB.isOpen());
+        FileChannel evicted = channelA.isOpen() ? channelB : channelA;
+        FileChannelPool.PooledChannel evictedPooled = channelA.isOpen() ? b : a;
+        FileChannel reopened = evictedPooled.get();
+        assertNotSame(evicted, reopened);
+        assertTrue(reopened.isOpen());
+        assertEquals(2, victim.openChannels());
+    }
+
+    @Test
+    public void closedIsNotReopened(@TempDir Path temp) throws IOException {
+        FileChannelPool victim = new FileChannelPool(2);
+        FileChannelPool.PooledChannel pooled = victim.register(Files.writeString(temp.resolve("a"), "chuck"));
+        pooled.get();
+        pooled.close();
+        assertThrows(ClosedChannelException.class, pooled::get);
+        assertEquals(0, victim.openChannels());
+    }
+
+    @Test
+    public void evictsWhenAllRecentlyUsed(@TempDir Path temp) throws IOException {
+        FileChannelPool victim = new FileChannelPool(2);
+        FileChannelPool.PooledChannel a = victim.register(Files.writeString(temp.resolve("a"), "a"));
+        FileChannelPool.PooledChannel b = victim.register(Files.writeString(temp.resolve("b"), "b"));
+        FileChannelPool.PooledChannel c = victim.register(Files.writeString(temp.resolve("c"), "c"));
+        FileChannel channelA = a.get();
+        a.get();
+        b.get();
+        assertTrue(c.get().isOpen());
+        assertFalse(channelA.isOpen());
+        assertEquals(2, victim.openChannels());
+    }
+
+    @Test
+    public void missingFile(@TempDir Path temp) {
+        FileChannelPool victim = new FileChannelPool(1);
+        FileChannelPool.PooledChannel pooled = victim.register(temp.resolve("missing"));
+        assertThrows(IOException.class, pooled::get);
+        assertEquals(0, victim.openChannels());
+    }
+}
@@ -22,15 +22,25 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Andrea Vacondio
@@ -120,6 +130,140 @@ public class FileChannelSeekableSourceTest extends BaseTestSeekableSource {
         assertEquals(length, victim.position());
     }
 
+    @Test
+    public void concurrentCursors() throws Exception {
+        byte[] expected = Files.readAllBytes(tempFile);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                SeekableSource cursor = victim.cursor();
+                results.add(executor.submit(() -> {
+                    byte[] read = new byte[(int) cursor.size()];
+                    ByteBuffer dst = ByteBuffer.wrap(read);
+                    while (dst.hasRemaining() && cursor.read(dst) > 0) {
+                        // keep reading
+                    }
+                    return read;
+                }));
+            }
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void interruptedReaderDoesNotCloseOtherCursors() throws Exception {
+        byte[] expected = Files.readAllBytes(tempFile);
+        SeekableSource interrupted = victim.cursor();
+        SeekableSource other = victim.cursor();
+        assertEquals(expected[0] & 0xff, other.read());
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            Thread.currentThread().interrupt();
+            try {
+                interrupted.read(ByteBuffer.allocate(10));
+            } catch (IOException e) {
+                failure.set(e);
+            }
+        });
+        reader.join();
+        assertInstanceOf(ClosedByInterruptException.class, failure.get());
+        assertEquals(expected[1] & 0xff, other.read());
+        ByteBuffer dst = ByteBuffer.allocate(10);
+        victim.position(20).read(dst);
+        assertArrayEquals(Arrays.copyOfRange(expected, 20, 30), dst.array());
+        assertEquals(expected[0] & 0xff, interrupted.read());
+        victim.close();
+    }
+
+    @Test
+    public void lazyReopensEvictedChannels() throws IOException {
+        FileChannelPool pool = new FileChannelPool(1);
+        byte[] expected = Files.readAllBytes(tempFile);
+        try (FileChannelSeekableSource first = new FileChannelSeekableSource(tempFile, pool);
+                FileChannelSeekableSource second = new FileChannelSeekableSource(tempFile, pool)) {
+            assertEquals(0, pool.openChannels());
+            assertEquals(expected.length, first.size());
+            assertEquals(expected[0] & 0xff, first.read());
+            assertEquals(expected[0] & 0xff, second.read());
+            assertEquals(1, pool.openChannels());
+            ByteBuffer dst = ByteBuffer.allocate(10);
+            first.read(dst);
+            assertEquals(1, pool.openChannels());
+            assertArrayEquals(Arrays.copyOfRange(expected, 1, 11), dst.array());
+            SeekableSource cursor = second.cursor();
+            cursor.position(20);
+            assertEquals(expected[20] & 0xff, cursor.read());
+        }
+        assertEquals(0, pool.openChannels());
+    }
+
+    @Test
+    public void lazyConcurrentReads() throws Exception {
+        FileChannelPool pool = new FileChannelPool(2);
+        byte[] expected = Files.readAllBytes(tempFile);
+        List<FileChannelSeekableSource> sources = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            sources.add(new FileChannelSeekableSource(tempFile, pool));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (FileChannelSeekableSource source : sources) {
+                results.add(executor.submit(() -> {
+                    byte[] read = new byte[expected.length];
+                    for (int i = 0; i < read.length; i++) {
+                        read[i] = (byte) source.read();
+                    }
+                    return read;
+                }));
+            }
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+            for (FileChannelSeekableSource source : sources) {
+                source.close();
+            }
+        }
+        assertEquals(0, pool.openChannels());
+    }
+
+    @Test
+    public void willNeed() throws IOException {
+        byte[] expected = Files.readAllBytes(tempFile);
+        victim.position(5);
+        victim.willNeed(List.of(new ByteRange(0, 100), new ByteRange(victim.size() - 10, 100),
+                new ByteRange(victim.size() + 10, 100)));
+        assertEquals(5, victim.position());
+        for (int i = 5; i < 100; i++) {
+            assertEquals(expected[i] & 0xff, victim.read());
+        }
+    }
+
+    @Test
+    public void willNeedOverlappingAndOverflowingRanges() throws IOException {
+        byte[] expected = Files.readAllBytes(tempFile);
+        victim.willNeed(List.of(new ByteRange(10, Long.MAX_VALUE), new ByteRange(10, Long.MAX_VALUE),
+                new ByteRange(20, 30), new ByteRange(Long.MAX_VALUE, Long.MAX_VALUE)));
+        assertTrue(FileChannelSeekableSource.pendingPrefetchBytes() <= 2 * victim.size());
+        victim.position(10);
+        for (int i = 10; i < 100; i++) {
+            assertEquals(expected[i] & 0xff, victim.read());
+        }
+    }
+
+    @Test
+    public void willNeedClosed() throws IOException {
+        victim.close();
+        assertThrows(IllegalStateException.class, () -> victim.willNeed(List.of(new ByteRange(0, 10))));
+    }
+
     @Override
     SeekableSource victim() {
         return victim;
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sejda.commons.util.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ForwardOnlySeekableSourceTest {
+    private byte[] content;
+    private ForwardOnlySeekableSource victim;
+
+    @BeforeEach
+    public void setUp() {
+        content = new byte[10_000];
+        new Random(7).nextBytes(content);
+        victim = new ForwardOnlySeekableSource(new ByteArrayInputStream(content), 100);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        IOUtils.close(victim);
+    }
+
+    @Test
+    public void nullStream() {
+        assertThrows(IllegalArgumentException.class, () -> new ForwardOnlySeekableSource((InputStream) null, 10));
+    }
+
+    @Test
+    public void invalidLookback() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ForwardOnlySeekableSource(new ByteArrayInputStream(content), 0));
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        ByteBuffer dst = ByteBuffer.allocate(content.length);
+        while (victim.read(dst) > 0) {
+            // keep reading
+        }
+        assertFalse(dst.hasRemaining());
+        assertArrayEquals(content, dst.array());
+        assertEquals(-1, victim.read());
+        assertEquals(content.length, victim.size());
+        assertEquals(content.length, victim.position());
+    }
+
+    @Test
+    public void asInputStreamOfUnknownSize() throws IOException {
+        InputStream stream = victim.asInputStream();
+        byte[] head = new byte[10];
+        assertEquals(10, stream.read(head));
+        assertArrayEquals(Arrays.copyOf(content, 10), head);
+        assertEquals(990, stream.skip(990));
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, content.length), stream.readAllBytes());
+        assertEquals(-1, stream.read(head));
+        assertEquals(0, stream.skip(10));
+        assertEquals(content.length, victim.size());
+    }
+
+    @Test
+    public void backAndPeekWithinWindow() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            assertEquals(content[i] & 0xff, victim.read());
+        }
+        assertEquals(content[499] & 0xff, victim.peekBack());
+        victim.back(100);
+        assertEquals(400, victim.position());
+        assertEquals(content[400] & 0xff, victim.peek());
+        assertEquals(content[400] & 0xff, victim.read());
+        assertEquals(content[401] & 0xff, victim.read());
+    }
+
+    @Test
+    public void fullLookbackAfterUnalignedReads() throws IOException {
+        for (int i = 0; i < 501; i++) {
+            assertEquals(content[i] & 0xff, victim.read());
+        }
+        victim.back(100);
+        assertEquals(content[401] & 0xff, victim.read());
+        ByteBuffer dst = ByteBuffer.allocate(733);
+        while (dst.hasRemaining() && victim.read(dst) > 0) {
+            // keep reading
+        }
+        assertEquals(1135, victim.position());
+        assertTrue(victim.windowStart() <= 1035);
+        victim.back(100);
+        assertEquals(content[1035] & 0xff, victim.read());
+        victim.position(3333);
+        victim.back(100);
+        assertEquals(content[3233] & 0xff, victim.read());
+    }
+
+    @Test
+    public void failsOutsideWindow() throws IOException {
+        victim.position(500);
+        assertEquals(400, victim.windowStart());
+        assertThrows(IllegalArgumentException.class, () -> victim.back(101));
+        assertThrows(IllegalArgumentException.class, () -> victim.position(0));
+        assertEquals(500, victim.position());
+    }
+
+    @Test
+    public void forwardSkips() throws IOException {
+        victim.position(5000);
+        assertEquals(content[5000] & 0xff, victim.read());
+        victim.forward(1000);
+        assertEquals(content[6001] & 0xff, victim.read());
+    }
+
+    @Test
+    public void positionPastTheEnd() throws IOException {
+        victim.position(content.length + 100);
+        assertEquals(content.length, victim.position());
+        assertEquals(-1, victim.read());
+        assertEquals(-1, victim.peek());
+    }
+
+    @Test
+    public void knownSize() throws IOException {
+        try (ForwardOnlySeekableSource source = new ForwardOnlySeekableSource(
+                Channels.newChannel(new ByteArrayInputStream(content)), content.length, 10)) {
+            assertEquals(content.length, source.size());
+            assertEquals(content[0] & 0xff, source.read());
+        }
+    }
+
+    @Test
+    public void slice() throws IOException {
+        victim.position(1000);
+        try (SeekableSourceSlice slice = victim.slice(950, 40)) {
+            byte[] bytes = new byte[40];
+            slice.asByteBuffer().get(bytes);
+            assertArrayEquals(Arrays.copyOfRange(content, 950, 990), bytes);
+        }
+        assertEquals(1000, victim.position());
+    }
+
+    @Test
+    public void view() {
+        assertThrows(UnsupportedOperationException.class, () -> victim.view(0, 10));
+        assertFalse(victim.supportsCursors());
+        assertThrows(UnsupportedOperationException.class, () -> victim.cursor());
+    }
+
+    @Test
+    public void close() throws IOException {
+        assertTrue(victim.isOpen());
+        victim.close();
+        assertFalse(victim.isOpen());
+        assertThrows(IllegalStateException.class, () -> victim.read());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class InflatingSeekableSourceTest extends BaseTestSeekableSource {
+    private InflatingSeekableSource victim;
+    private byte[] expected;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        victim = new InflatingSeekableSource(new ByteArraySeekableSource(gzip(expected)),
+                InflatingSeekableSource.Format.GZIP);
+    }
+
+    @Test
+    public void nullInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InflatingSeekableSource(null, InflatingSeekableSource.Format.ZLIB));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InflatingSeekableSource(new ByteArraySeekableSource(new byte[0]), null));
+    }
+
+    @Test
+    public void invalidSpacing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InflatingSeekableSource(new ByteArraySeekableSource(zlib(expected)),
+                        InflatingSeekableSource.Format.ZLIB, 0));
+    }
+
+    @Test
+    public void viewsNeedWrappedCursors() throws IOException {
+        try (SeekableSource source = new InflatingSeekableSource(new ByteArraySeekableSource(gzip(expected)) {
+            @Override
+            public boolean supportsCursors() {
+                return false;
+            }
+        }, InflatingSeekableSource.Format.GZIP)) {
+            assertFalse(source.supportsCursors());
+            assertThrows(UnsupportedOperationException.class, () -> source.view(0, 10));
+        }
+    }
+
+    @Test
+    public void readAll() throws IOException {
+        assertEquals(expected.length, victim.size());
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, Arrays.copyOf(dst.array(), expected.length));
+        assertEquals(-1, victim.read());
+    }
+
+    @Test
+    public void formats() throws IOException {
+        byte[] deflated = DeflateDecoderTest.deflate(expected, Deflater.DEFAULT_COMPRESSION,
+                Deflater.DEFAULT_STRATEGY);
+        for (var source : new InflatingSeekableSource[] {
+                new InflatingSeekableSource(new ByteArraySeekableSource(deflated),
+                        InflatingSeekableSource.Format.DEFLATE),
+                new InflatingSeekableSource(new ByteArraySeekableSource(zlib(expected)),
+                        InflatingSeekableSource.Format.ZLIB),
+                (InflatingSeekableSource) SeekableSources.inflatingSeekableSourceFrom(
+                        new ByteArraySeekableSource(gzip(expected)), InflatingSeekableSource.Format.GZIP) }) {
+            try (source) {
+                ByteBuffer dst = ByteBuffer.allocate(expected.length);
+                source.read(dst);
+                assertArrayEquals(expected, dst.array());
+            }
+        }
+    }
+
+    @Test
+    public void gzipHeaderFields() throws IOException {
+        byte[] gzip = gzip(expected);
+        byte[] header = { 0x1f, (byte) 0x8b, 8, 0x1E, 0, 0, 0, 0, 0, 3, 2, 0, 'x', 'y', 'n', 'a', 'm', 'e', 0, 'c', 0,
+                1, 2 };
+        byte[] withFields = new byte[header.length + gzip.length - 10];
+        System.arraycopy(header, 0, withFields, 0, header.length);
+        System.arraycopy(gzip, 10, withFields, header.length, gzip.length - 10);
+        try (SeekableSource source = new InflatingSeekableSource(new ByteArraySeekableSource(withFields),
+                InflatingSeekableSource.Format.GZIP)) {
+            assertEquals(expected.length, source.size());
+        }
+    }
+
+    @Test
+    public void invalidContent() {
+        byte[] zlib = zlib(expected);
+        assertThrows(IOException.class, () -> new InflatingSeekableSource(new ByteArraySeekableSource(zlib),
+                InflatingSeekableSource.Format.GZIP));
+        byte[] corrupted = zlib.clone();
+        corrupted[corrupted.length - 1]++;
+        assertThrows(IOException.class, () -> new InflatingSeekableSource(new ByteArraySeekableSource(corrupted),
+                InflatingSeekableSource.Format.ZLIB));
+        assertThrows(IOException.class,
+                () -> new InflatingSeekableSource(new ByteArraySeekableSource(Arrays.copyOf(zlib, zlib.length / 2)),
+                        InflatingSeekableSource.Format.ZLIB));
+    }
+
+    @Test
+    public void randomAccessFromCheckpoints(@TempDir Path temp) throws IOException {
+        byte[] content = DeflateDecoderTest.content(2_000_000);
+        Path file = Files.write(temp.resolve("content.gz"), gzip(content));
+        long used = MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY);
+        try (InflatingSeekableSource source = new InflatingSeekableSource(new FileChannelSeekableSource(file),
+                InflatingSeekableSource.Format.GZIP, 100_000)) {
+            assertEquals(content.length, source.size());
+            assertTrue(source.checkpoints() > 5);
+            assertTrue(MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY) > used);
+            SeekableSource cursor = source.cursor();
+            Random random = new Random(24);
+            for (int i = 0; i < 300; i++) {
+                int position = random.nextInt(content.length);
+                cursor.position(position);
+                assertEquals(content[position] & 0xff, cursor.read());
+                ByteBuffer dst = ByteBuffer.allocate(random.nextInt(150_000));
+                cursor.read(dst);
+                dst.flip();
+                for (int j = 0; dst.hasRemaining(); j++) {
+                    assertEquals(content[position + 1 + j], dst.get());
+                }
+            }
+            SeekableSource view = source.view(content.length - 10, 20);
+            assertEquals(10, view.size());
+            assertEquals(content[content.length - 10] & 0xff, view.read());
+            source.position(content.length - 1);
+            assertEquals(content[content.length - 1] & 0xff, source.read());
+            assertEquals(-1, source.read());
+        }
+        assertEquals(used, MemoryBudget.global().used(MemoryBudget.Category.IN_MEMORY));
+    }
+
+    @Test
+    public void closesWrapped() throws IOException {
+        SeekableSource wrapped = new ByteArraySeekableSource(zlib(expected));
+        SeekableSource source = new InflatingSeekableSource(wrapped, InflatingSeekableSource.Format.ZLIB);
+        source.cursor().close();
+        assertEquals(expected[0] & 0xff, source.read());
+        source.close();
+        assertFalse(wrapped.isOpen());
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(result)) {
+            out.write(content);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] zlib(byte[] content) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(result)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return result.toByteArray();
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class MemoryBudgetTest {
+
+    @Test
+    public void invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryBudget(0));
+        assertThrows(IllegalArgumentException.class, () -> MemoryBudget.global().limit(-1));
+    }
+
+    @Test
+    public void accounting() {
+        MemoryBudget victim = new MemoryBudget(1000);
+        victim.reserve(MemoryBudget.Category.BUFFERS, 100);
+        victim.reserve(MemoryBudget.Category.MAPPED, 300);
+        assertEquals(400, victim.used());
+        assertEquals(100, victim.used(MemoryBudget.Category.BUFFERS));
+        assertEquals(0, victim.used(MemoryBudget.Category.IN_MEMORY));
+        assertEquals(600, victim.headroom());
+        victim.release(MemoryBudget.Category.MAPPED, 300);
+        assertEquals(100, victim.used());
+        assertThrows(IllegalArgumentException.class, () -> victim.used(null));
+    }
+
+    @Test
+    public void exceedingLimit() {
+        MemoryBudget victim = new MemoryBudget(1000);
+        victim.reserve(MemoryBudget.Category.IN_MEMORY, 1500);
+        assertEquals(1500, victim.used());
+        assertEquals(0, victim.headroom());
+        assertTrue(victim.isLow());
+    }
+
+    @Test
+    public void lowHeadroom() {
+        MemoryBudget victim = new MemoryBudget(1000);
+        assertFalse(victim.isLow());
+        assertTrue(victim.canAfford(900));
+        assertFalse(victim.canAfford(901));
+        assertEquals(512, victim.affordable(512, 64));
+        victim.reserve(MemoryBudget.Category.BUFFERS, 850);
+        assertFalse(victim.isLow());
+        assertEquals(64, victim.affordable(512, 64));
+        victim.reserve(MemoryBudget.Category.BUFFERS, 100);
+        assertTrue(victim.isLow());
+        victim.limit(10_000);
+        assertFalse(victim.isLow());
+    }
+
+    @Test
+    public void reservationCleanedOnce() {
+        MemoryBudget victim = new MemoryBudget(1000);
+        Object owner = new Object();
+        Cleaner.Cleanable reservation = victim.reserve(owner, MemoryBudget.Category.IN_MEMORY, 100);
+        assertEquals(100, victim.used(MemoryBudget.Category.IN_MEMORY));
+        reservation.clean();
+        reservation.clean();
+        assertEquals(0, victim.used());
+    }
+
+    @Test
+    public void reservationReleasedWhenOwnerIsUnreachable() throws InterruptedException {
+        MemoryBudget victim = new MemoryBudget(1000);
+        victim.reserve(new Object(), MemoryBudget.Category.BUFFERS, 100);
+        assertEquals(100, victim.used());
+        for (int i = 0; i < 500 && victim.used() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, victim.used());
+    }
+
+    @Test
+    public void sourcesAreAccounted() throws IOException {
+        MemoryBudget budget = MemoryBudget.global();
+        long inMemory = budget.used(MemoryBudget.Category.IN_MEMORY);
+        long buffers = budget.used(MemoryBudget.Category.BUFFERS);
+        ByteArraySeekableSource source = new ByteArraySeekableSource(new byte[100]);
+        assertEquals(inMemory + 100, budget.used(MemoryBudget.Category.IN_MEMORY));
+        source.cursor().close();
+        assertEquals(inMemory + 100, budget.used(MemoryBudget.Category.IN_MEMORY));
+        BufferedSeekableSource buffered = new BufferedSeekableSource(source);
+        assertTrue(budget.used(MemoryBudget.Category.BUFFERS) > buffers);
+        buffered.close();
+        buffered.close();
+        assertEquals(inMemory, budget.used(MemoryBudget.Category.IN_MEMORY));
+        assertEquals(buffers, budget.used(MemoryBudget.Category.BUFFERS));
+    }
+}
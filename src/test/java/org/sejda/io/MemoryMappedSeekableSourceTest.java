@@ -25,11 +25,21 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MemoryMappedSeekableSourceTest extends BaseTestSeekableSource {
     private MemoryMappedSeekableSource victim;
@@ -46,6 +56,7 @@ public class MemoryMappedSeekableSourceTest extends BaseTestSeekableSource {
     @AfterEach
     public void after() throws IOException {
         System.getProperties().remove(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY);
+        System.getProperties().remove(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY);
         Files.deleteIfExists(tempFile);
     }
 
@@ -62,6 +73,72 @@ public class MemoryMappedSeekableSourceTest extends BaseTestSeekableSource {
 
     }
 
+    @Test
+    public void pagedWithOptions() throws IOException {
+        byte[] expected = Files.readAllBytes(tempFile);
+        try (MemoryMappedSeekableSource paged = new MemoryMappedSeekableSource(tempFile,
+                SeekableSourceOptions.builder().mappedPageSize(50).build())) {
+            paged.position(48);
+            ByteBuffer dst = ByteBuffer.allocate(5);
+            assertEquals(5, paged.read(dst));
+            assertArrayEquals(Arrays.copyOfRange(expected, 48, 53), dst.array());
+        }
+    }
+
+    @Test
+    public void nullLifecycle() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MemoryMappedSeekableSource(tempFile, (MemoryMappedSeekableSource.Lifecycle) null));
+    }
+
+    @Test
+    public void confined() throws Exception {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "50");
+        byte[] expected = Files.readAllBytes(tempFile);
+        MemoryMappedSeekableSource confined = new MemoryMappedSeekableSource(tempFile,
+                MemoryMappedSeekableSource.Lifecycle.CONFINED);
+        confined.load();
+        confined.warm(10, 200).get(10, TimeUnit.SECONDS);
+        assertFalse(confined.supportsCursors());
+        assertThrows(UnsupportedOperationException.class, confined::cursor);
+        try (SeekableSource view = confined.view(120, 10)) {
+            assertEquals(expected[120] & 0xff, view.read());
+        }
+        assertEquals(expected[0] & 0xff, confined.read());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> other = executor.submit(() -> confined.view(0, 10).read());
+            ExecutionException e = assertThrows(ExecutionException.class, () -> other.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(WrongThreadException.class, e.getCause());
+            Future<?> close = executor.submit(() -> {
+                confined.close();
+                return null;
+            });
+            e = assertThrows(ExecutionException.class, () -> close.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(WrongThreadException.class, e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(confined.isOpen());
+        assertEquals(expected[1] & 0xff, confined.read());
+        confined.close();
+        assertFalse(confined.isOpen());
+    }
+
+    @Test
+    public void auto() throws IOException {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, "AUTO");
+        long mapped = MemoryBudget.global().used(MemoryBudget.Category.MAPPED);
+        byte[] expected = Files.readAllBytes(tempFile);
+        MemoryMappedSeekableSource auto = new MemoryMappedSeekableSource(tempFile);
+        assertEquals(mapped + expected.length, MemoryBudget.global().used(MemoryBudget.Category.MAPPED));
+        assertEquals(expected[0] & 0xff, auto.read());
+        auto.close();
+        auto.close();
+        assertEquals(mapped, MemoryBudget.global().used(MemoryBudget.Category.MAPPED));
+        assertThrows(IllegalStateException.class, auto::read);
+    }
+
     @Test
     public void read() throws IOException {
         assertEquals(0, victim.position());
@@ -132,6 +209,151 @@ public class MemoryMappedSeekableSourceTest extends BaseTestSeekableSource {
         }
     }
 
+    @Test
+    public void zeroCopySlice() throws IOException {
+        try (SeekableSourceSlice slice = victim.slice(0, 4)) {
+            assertTrue(slice.isZeroCopy());
+            assertTrue(slice.asByteBuffer().isReadOnly());
+            assertEquals('%', slice.asByteBuffer().get());
+            assertEquals('P', slice.asByteBuffer().get(1));
+        }
+    }
+
+    @Test
+    public void pagedSlice() throws IOException {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "50");
+        Path tempFile = Files.createTempFile("SejdaIO", null);
+        try {
+            Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            victim = new MemoryMappedSeekableSource(tempFile);
+            try (SeekableSourceSlice slice = victim.slice(45, 10)) {
+                assertFalse(slice.isZeroCopy());
+                assertEquals(10, slice.size());
+                victim.position(45);
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(victim.read(), slice.asByteBuffer().get(i) & 0xff);
+                }
+            }
+            try (SeekableSourceSlice slice = victim.slice(50, 10)) {
+                assertTrue(slice.isZeroCopy());
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    public void pagedReadAsciiNumbers() throws IOException {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "4");
+        Path tempFile = Files.createTempFile("SejdaIO", null);
+        try {
+            Files.writeString(tempFile, "12345678 0 obj -1.25");
+            victim = new MemoryMappedSeekableSource(tempFile);
+            assertEquals(12345678, victim.readAsciiLong());
+            assertEquals(8, victim.position());
+            victim.forward(1);
+            assertEquals(0, victim.readAsciiLong());
+            victim.forward(1);
+            assertThrows(NumberFormatException.class, () -> victim.readAsciiLong());
+            assertEquals(11, victim.position());
+            victim.forward(4);
+            assertEquals(-1.25, victim.readAsciiDouble());
+            assertEquals(victim.size(), victim.position());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    public void load() throws IOException {
+        victim.load();
+        assertEquals('%', victim.read());
+    }
+
+    @Test
+    public void pagedWarm() throws Exception {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "50");
+        Path tempFile = Files.createTempFile("SejdaIO", null);
+        try {
+            Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            victim = new MemoryMappedSeekableSource(tempFile);
+            victim.warm(30, 200).get(10, TimeUnit.SECONDS);
+            victim.warm(victim.size() - 10, 200).get(10, TimeUnit.SECONDS);
+            victim.load(0, victim.size());
+            victim.position(49);
+            assertNotEquals(-1, victim.read());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Test
+    public void loadTrimmedAtBoundaries() throws Exception {
+        long size = victim.size();
+        MemoryMappedSeekableSource.LoadTask task = victim.loadTask(10, Long.MAX_VALUE);
+        assertEquals(10, task.from);
+        assertEquals(size, task.to);
+        task = victim.loadTask(size - 10, 200);
+        assertEquals(size - 10, task.from);
+        assertEquals(size, task.to);
+        task = victim.loadTask(size + 10, 200);
+        assertEquals(size, task.from);
+        assertEquals(size, task.to);
+        task = victim.loadTask(Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(size, task.from);
+        assertEquals(size, task.to);
+        task = victim.loadTask(5, 0);
+        assertEquals(5, task.from);
+        assertEquals(5, task.to);
+        victim.load(size - 1, Long.MAX_VALUE);
+        victim.warm(1, Long.MAX_VALUE).get(10, TimeUnit.SECONDS);
+        assertEquals('%', victim.read());
+    }
+
+    @Test
+    public void invalidWarm() {
+        assertThrows(IllegalArgumentException.class, () -> victim.warm(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> victim.load(0, -10));
+    }
+
+    @Test
+    public void willNeedAndDontNeed() throws IOException {
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "50");
+        try (MemoryMappedSeekableSource paged = new MemoryMappedSeekableSource(tempFile)) {
+            byte[] expected = Files.readAllBytes(tempFile);
+            paged.willNeed(List.of(new ByteRange(30, 200), new ByteRange(paged.size() - 10, 200)));
+            paged.dontNeed(new ByteRange(20, 100));
+            paged.dontNeed(new ByteRange(paged.size() + 10, 100));
+            assertEquals(0, paged.position());
+            for (int i = 0; i < 150; i++) {
+                assertEquals(expected[i] & 0xff, paged.read());
+            }
+        }
+    }
+
+    @Test
+    public void dontNeedClosed() throws IOException {
+        victim.close();
+        assertThrows(IllegalStateException.class, () -> victim.dontNeed(new ByteRange(0, 10)));
+    }
+
+    @Test
+    public void warmClosed() throws IOException {
+        victim.close();
+        assertThrows(IllegalStateException.class, () -> victim.warm(0, 10));
+        assertThrows(IllegalStateException.class, () -> victim.load());
+    }
+
+    @Test
+    public void readUnsigned() throws IOException {
+        victim.position(10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(victim.read() >= 0);
+        }
+    }
+
     @Override
     SeekableSource victim() {
         return victim;
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class MultiPatternScannerTest {
+
+    @Test
+    public void invalidPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiPatternScanner((byte[][]) null));
+        assertThrows(IllegalArgumentException.class, () -> new MultiPatternScanner());
+        assertThrows(IllegalArgumentException.class, () -> new MultiPatternScanner(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> MultiPatternScanner.ofAscii("obj", null));
+    }
+
+    @Test
+    public void overlappingPatterns() throws IOException {
+        byte[] content = "1 0 obj\n<<>>\nendobj\n2 0 obj\nstream\nendstream\nendobj\nxref\ntrailer".getBytes(
+                StandardCharsets.US_ASCII);
+        long[][] result = MultiPatternScanner.ofAscii("obj", "endobj", "stream", "trailer", "xref")
+                .scan(new ByteArraySeekableSource(content));
+        assertArrayEquals(new long[] { 4, 16, 24, 48 }, result[0]);
+        assertArrayEquals(new long[] { 13, 45 }, result[1]);
+        assertArrayEquals(new long[] { 28, 38 }, result[2]);
+        assertArrayEquals(new long[] { 57 }, result[3]);
+        assertArrayEquals(new long[] { 52 }, result[4]);
+    }
+
+    @Test
+    public void positionIsUnchanged() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource("aaa".getBytes(StandardCharsets.US_ASCII));
+        source.position(1);
+        assertArrayEquals(new long[] { 0, 1 }, MultiPatternScanner.ofAscii("aa").scan(source)[0]);
+        assertEquals(1, source.position());
+    }
+
+    @Test
+    public void straddlingChunks() throws IOException {
+        byte[] content = randomContent(20_000);
+        MultiPatternScanner victim = new MultiPatternScanner(bytes("ab"), bytes("abcab"), bytes("b"),
+                bytes("cabca"));
+        long[][] expected = bruteForce(content, bytes("ab"), bytes("abcab"), bytes("b"), bytes("cabca"));
+        for (int chunkSize : new int[] { 1, 3, 7, 100, 4096 }) {
+            long[][] result = victim.scan(new ByteArraySeekableSource(content), chunkSize);
+            for (int i = 0; i < expected.length; i++) {
+                assertArrayEquals(expected[i], result[i], "Chunk size " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    public void fileSources(@TempDir Path temp) throws IOException {
+        byte[] content = randomContent(300_000);
+        Path file = Files.write(temp.resolve("test"), content);
+        long[][] expected = bruteForce(content, bytes("abc"), bytes("cc"));
+        MultiPatternScanner victim = new MultiPatternScanner(bytes("abc"), bytes("cc"));
+        try (SeekableSource channel = new FileChannelSeekableSource(file);
+                SeekableSource mapped = new MemoryMappedSeekableSource(file);
+                SeekableSource buffered = SeekableSources.seekableSourceFrom(file)) {
+            assertArrayEquals(expected[1], victim.scan(channel, 10_000)[1]);
+            assertArrayEquals(expected[0], victim.scan(mapped, 7_777)[0]);
+            assertArrayEquals(expected[0], victim.scan(buffered, 50_000)[0]);
+        }
+    }
+
+    @Test
+    public void sourcesWithoutCursors() throws IOException {
+        byte[] content = randomContent(10_000);
+        SeekableSource source = new ByteArraySeekableSource(content) {
+            @Override
+            public boolean supportsCursors() {
+                return false;
+            }
+
+            @Override
+            public SeekableSource cursor() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        assertArrayEquals(bruteForce(content, bytes("abc"))[0],
+                new MultiPatternScanner(bytes("abc")).scan(source, 100)[0]);
+    }
+
+    @Test
+    public void closedSource() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1 });
+        source.close();
+        assertThrows(IllegalStateException.class, () -> MultiPatternScanner.ofAscii("a").scan(source));
+    }
+
+    private static byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + random.nextInt(3));
+        }
+        return content;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static long[][] bruteForce(byte[] content, byte[]... patterns) {
+        long[][] result = new long[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            byte[] pattern = patterns[p];
+            result[p] = LongStream.range(0, content.length - pattern.length + 1).filter(i -> {
+                for (int j = 0; j < pattern.length; j++) {
+                    if (content[(int) i + j] != pattern[j]) {
+                        return false;
+                    }
+                }
+                return true;
+            }).toArray();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffsettableBufferedSeekableSourceTest extends BaseTestSeekableSource {
+
+    private ByteArraySeekableSource wrapped;
+    private OffsettableSeekableSource victim;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        wrapped = new ByteArraySeekableSource(new byte[] { 'd', 'e', 'f', 'a', 'b', 'c' });
+        victim = SeekableSources.asOffsettable(new BufferedSeekableSource(wrapped));
+        victim.offset(3);
+    }
+
+    @Test
+    public void fused() {
+        assertInstanceOf(OffsettableBufferedSeekableSource.class, victim);
+        assertInstanceOf(OffsettableSeekableSourceImpl.class,
+                SeekableSources.asOffsettable(new ByteArraySeekableSource(new byte[] { 'a' })));
+    }
+
+    @Test
+    public void size() {
+        assertEquals(3, victim.size());
+    }
+
+    @Test
+    public void negativeOffset() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> victim.offset(-4));
+        assertEquals("Cannot set a negative offset", e.getMessage());
+    }
+
+    @Test
+    public void tooBigOffset() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> victim.offset(7));
+        assertEquals("Invalid offset bigger then the wrapped source size", e.getMessage());
+    }
+
+    @Test
+    public void changeOffset() throws IOException {
+        assertEquals('a', victim.read());
+        victim.offset(1);
+        assertEquals(5, victim.size());
+        assertEquals(4, victim.position());
+        assertEquals('c', victim.read());
+        victim.position(0);
+        assertEquals('e', victim.read());
+    }
+
+    @Test
+    public void initialPosition() throws IOException {
+        BufferedSeekableSource buffered = new BufferedSeekableSource(wrapped);
+        buffered.position(2);
+        OffsettableSeekableSource offsettable = SeekableSources.asOffsettable(buffered);
+        assertEquals(2, offsettable.position());
+        offsettable.offset(1);
+        assertEquals(2, offsettable.position());
+        assertEquals('a', offsettable.read());
+    }
+
+    @Test
+    public void constructor() {
+        assertEquals(wrapped.id(), victim.id());
+    }
+
+    @Override
+    @Test
+    public void close() throws IOException {
+        victim.read();
+        assertTrue(victim.isOpen());
+        assertTrue(wrapped.isOpen());
+        victim.close();
+        assertFalse(victim.isOpen());
+        assertFalse(wrapped.isOpen());
+    }
+
+    @Test
+    public void read() throws IOException {
+        assertEquals(97, victim.read());
+        assertEquals(1, victim.position());
+        assertEquals(98, victim.read());
+        assertEquals(2, victim.position());
+        assertEquals(99, victim.read());
+        assertEquals(3, victim.position());
+        assertEquals(-1, victim.read());
+        assertEquals(3, victim.position());
+    }
+
+    @Test
+    public void readBuff() throws IOException {
+        victim.position(1);
+        ByteBuffer dst = ByteBuffer.allocate(10);
+        victim.read(dst);
+        dst.flip();
+        assertEquals(2, dst.remaining());
+        assertEquals(98, dst.get());
+        assertEquals(99, dst.get());
+        ByteBuffer empty = ByteBuffer.allocate(10);
+        assertEquals(-1, victim.read(empty));
+    }
+
+    @Test
+    public void readAsciiLong() throws IOException {
+        try (OffsettableSeekableSource offsettable = SeekableSources.asOffsettable(new BufferedSeekableSource(
+                new ByteArraySeekableSource("garbage 1234 5".getBytes(StandardCharsets.US_ASCII))))) {
+            offsettable.offset(8);
+            assertEquals(1234, offsettable.readAsciiLong());
+            assertEquals(4, offsettable.position());
+        }
+    }
+
+    @Test
+    public void slice() throws IOException {
+        try (SeekableSourceSlice slice = victim.slice(1, 10)) {
+            assertEquals(2, slice.size());
+            assertEquals('b', slice.asByteBuffer().get());
+        }
+    }
+
+    @Test
+    public void viewAndCursorKeepTheOffset() throws IOException {
+        SeekableSource view = victim.view(1, 10);
+        assertEquals(2, view.size());
+        assertEquals('b', view.read());
+        SeekableSource cursor = victim.cursor();
+        assertEquals(3, cursor.size());
+        assertEquals('a', cursor.read());
+    }
+
+    @Test
+    public void position() throws IOException {
+        assertEquals(0, victim.position());
+        assertEquals(97, victim.read());
+        victim.position(0);
+        assertEquals(0, victim.position());
+        victim.position(2);
+        assertEquals(2, victim.position());
+        victim.read();
+        assertEquals(3, victim.position());
+        assertEquals(-1, victim.read());
+        victim.position(20);
+        assertEquals(3, victim.position());
+        assertEquals(-1, victim.read());
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
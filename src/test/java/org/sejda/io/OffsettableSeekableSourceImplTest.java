@@ -5,8 +5,12 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /*
  * Copyright 2022 Sober Lemur S.r.l. and Sejda BV
@@ -35,6 +39,18 @@ public class OffsettableSeekableSourceImplTest extends BaseTestSeekableSource {
         victim.offset(3);
     }
 
+    @Test
+    public void willNeedAndDontNeedAreTranslated() throws IOException {
+        SeekableSource wrapped = mock(SeekableSource.class);
+        when(wrapped.size()).thenReturn(100L);
+        OffsettableSeekableSource offsettable = new OffsettableSeekableSourceImpl(wrapped);
+        offsettable.offset(30);
+        offsettable.willNeed(List.of(new ByteRange(10, 20), new ByteRange(60, 20)));
+        verify(wrapped).willNeed(List.of(new ByteRange(40, 20), new ByteRange(90, 10)));
+        offsettable.dontNeed(new ByteRange(0, 200));
+        verify(wrapped).dontNeed(new ByteRange(30, 70));
+    }
+
     @Test
     public void size() {
         assertEquals(3, victim.size());
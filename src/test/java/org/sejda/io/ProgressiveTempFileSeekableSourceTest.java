@@ -0,0 +1,254 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class ProgressiveTempFileSeekableSourceTest extends BaseTestSeekableSource {
+    private ProgressiveTempFileSeekableSource victim;
+    private byte[] expected;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expected = getClass().getResourceAsStream("/pdf/simple_test.pdf").readAllBytes();
+        victim = new ProgressiveTempFileSeekableSource(new ByteArrayInputStream(expected), expected.length);
+    }
+
+    @Test
+    public void nullStream() {
+        assertThrows(IllegalArgumentException.class, () -> new ProgressiveTempFileSeekableSource(null));
+    }
+
+    @Test
+    public void readAll() throws Exception {
+        assertEquals(expected.length, victim.size());
+        ByteBuffer dst = ByteBuffer.allocate(expected.length + 10);
+        assertEquals(expected.length, victim.read(dst));
+        assertArrayEquals(expected, Arrays.copyOf(dst.array(), expected.length));
+        assertEquals(-1, victim.read());
+        assertEquals(expected.length, victim.copied());
+        // the copy thread completes once it reads the end of the stream, right after the last byte is copied
+        assertEquals(expected.length, victim.awaitCompletion());
+        assertTrue(victim.isCopyComplete());
+    }
+
+    @Test
+    public void readWithOptions() throws Exception {
+        SeekableSourceOptions options = SeekableSourceOptions.builder().inputBufferSize(16).directBuffers(true).build();
+        try (SeekableSource source = SeekableSources.progressiveSeekableSourceFrom(new ByteArrayInputStream(expected),
+                -1, options)) {
+            ByteBuffer dst = ByteBuffer.allocate(expected.length);
+            assertEquals(expected.length, source.read(dst));
+            assertArrayEquals(expected, dst.array());
+            assertEquals(-1, source.read());
+            SeekableSource cursor = source.cursor();
+            cursor.position(20);
+            assertEquals(expected[20] & 0xff, cursor.read());
+        }
+    }
+
+    @Test
+    public void readsBlockUntilCopied() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        try (ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(
+                new PipedInputStream(out), 6)) {
+            assertEquals(6, source.size());
+            out.write(new byte[] { 'c', 'h', 'u' });
+            out.flush();
+            assertEquals('c', source.read());
+            source.position(4);
+            CompletableFuture<Integer> pending = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return source.read();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(pending.isDone());
+            out.write(new byte[] { 'c', 'k', '!' });
+            out.close();
+            assertEquals('k', pending.get(5, TimeUnit.SECONDS));
+            assertEquals('!', source.read());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void unknownSize() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        try (ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(
+                new PipedInputStream(out))) {
+            out.write(new byte[] { 'c', 'h' });
+            out.flush();
+            assertEquals('c', source.read());
+            CompletableFuture<Long> size = CompletableFuture.supplyAsync(source::size);
+            Thread.sleep(100);
+            assertFalse(size.isDone());
+            out.write(new byte[] { 'u' });
+            out.close();
+            assertEquals(3, size.get(5, TimeUnit.SECONDS));
+            source.position(2);
+            assertEquals('u', source.read());
+            assertEquals(-1, source.read());
+        }
+    }
+
+    @Test
+    public void peekBackViewAndSliceWhileCopying() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        try (ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(
+                new PipedInputStream(out))) {
+            out.write(new byte[] { 'c', 'h', 'u', 'c' });
+            out.flush();
+            CompletableFuture.runAsync(() -> {
+                try {
+                    assertEquals('c', source.read());
+                    assertEquals('h', source.peek());
+                    assertEquals(1, source.position());
+                    assertEquals('c', source.back().peek());
+                    assertEquals(3, source.forward(3).position());
+                    assertEquals('u', source.peekBack());
+                    SeekableSource view = source.view(1, 2);
+                    assertEquals(2, view.size());
+                    assertEquals('h', view.read());
+                    try (SeekableSourceSlice slice = source.slice(2, 2)) {
+                        assertEquals('u', slice.asByteBuffer().get(0));
+                        assertEquals('c', slice.asByteBuffer().get(1));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertFalse(source.isCopyComplete());
+            CompletableFuture<SeekableSource> forward = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return source.forward(2);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(forward.isDone());
+            out.write(new byte[] { 'k' });
+            out.flush();
+            assertEquals(5, forward.get(5, TimeUnit.SECONDS).position());
+            out.close();
+            assertThrows(IllegalArgumentException.class, () -> source.forward(1));
+            assertEquals(5, source.size());
+        }
+    }
+
+    @Test
+    public void inputStreamWhileCopying() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        try (ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(
+                new PipedInputStream(out))) {
+            out.write(new byte[] { 'c', 'h', 'u', 'c' });
+            out.flush();
+            InputStream stream = source.asInputStream();
+            byte[] read = new byte[10];
+            CompletableFuture.runAsync(() -> {
+                try {
+                    assertEquals(2, stream.read(read, 0, 2));
+                    assertEquals(1, stream.skip(1));
+                    assertEquals(1, stream.available());
+                    assertEquals(1, stream.read(read, 2, 8));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals('c', read[0]);
+            assertEquals('h', read[1]);
+            assertEquals('c', read[2]);
+            assertFalse(source.isCopyComplete());
+            CompletableFuture<Integer> blocked = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return stream.read(read);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(blocked.isDone());
+            out.write(new byte[] { 'k' });
+            out.flush();
+            assertEquals(1, blocked.get(5, TimeUnit.SECONDS));
+            assertEquals('k', read[0]);
+            out.close();
+            assertEquals(-1, stream.read(read));
+            assertEquals(0, stream.skip(1));
+        }
+    }
+
+    @Test
+    public void shorterThanExpected() throws IOException {
+        try (ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(
+                new ByteArrayInputStream(new byte[] { 1, 2 }), 10)) {
+            assertEquals(1, source.read());
+            source.position(5);
+            assertThrows(IOException.class, source::read);
+        }
+    }
+
+    @Test
+    public void cursorsShareTheCopy() throws IOException {
+        SeekableSource cursor = victim.cursor();
+        cursor.position(10);
+        assertEquals(expected[10] & 0xff, cursor.read());
+        assertEquals(expected[0] & 0xff, victim.read());
+        cursor.close();
+        assertTrue(victim.isOpen());
+    }
+
+    @Test
+    public void closeStopsTheCopy() throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        ProgressiveTempFileSeekableSource source = new ProgressiveTempFileSeekableSource(new PipedInputStream(out));
+        out.write(new byte[] { 'c' });
+        out.flush();
+        assertEquals('c', source.read());
+        source.close();
+        assertFalse(source.isOpen());
+        out.close();
+        assertTrue(source.isCopyComplete());
+    }
+
+    @Override
+    SeekableSource victim() {
+        return victim;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class RangeHashIndexTest {
+
+    @Test
+    public void nullArguments() {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1 });
+        assertThrows(IllegalArgumentException.class, () -> RangeHashIndex.hash(null, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> RangeHashIndex.hash(source, null));
+        assertThrows(IllegalArgumentException.class, () -> new RangeHashIndex().find(source, null));
+    }
+
+    @Test
+    public void closedSource() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1 });
+        source.close();
+        assertThrows(IllegalStateException.class, () -> RangeHashIndex.hash(source, List.of(new ByteRange(0, 1))));
+    }
+
+    @Test
+    public void hash() throws IOException {
+        byte[] content = "abcdabcdXabc".getBytes();
+        SeekableSource source = new ByteArraySeekableSource(content);
+        source.position(5);
+        long[] hashes = RangeHashIndex.hash(source,
+                List.of(new ByteRange(0, 4), new ByteRange(4, 4), new ByteRange(9, 10), new ByteRange(0, 3)));
+        assertEquals(hashes[0], hashes[1]);
+        assertNotEquals(hashes[0], hashes[2]);
+        assertEquals(hashes[2], hashes[3]);
+        CRC32C crc = new CRC32C();
+        crc.update(content, 0, 4);
+        assertEquals((4L << 32) | crc.getValue(), hashes[0]);
+        assertEquals(5, source.position());
+    }
+
+    @Test
+    public void parallelHash(@TempDir Path temp) throws IOException {
+        byte[] content = new byte[1_000_000];
+        new Random(7).nextBytes(content);
+        Path file = Files.write(temp.resolve("content.bin"), content);
+        List<ByteRange> ranges = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            ranges.add(new ByteRange(random.nextInt(content.length), random.nextInt(200_000)));
+        }
+        long[] expected = RangeHashIndex.hash(new ByteArraySeekableSource(content), ranges, Integer.MAX_VALUE);
+        try (SeekableSource channel = new FileChannelSeekableSource(file);
+                SeekableSource mapped = new MemoryMappedSeekableSource(file);
+                SeekableSource buffered = SeekableSources.seekableSourceFrom(file)) {
+            assertArrayEquals(expected, RangeHashIndex.hash(channel, ranges, 100_000));
+            assertArrayEquals(expected, RangeHashIndex.hash(mapped, ranges, 1));
+            assertArrayEquals(expected, RangeHashIndex.hash(buffered, ranges, 1_000_000));
+        }
+    }
+
+    @Test
+    public void sourcesWithoutCursors() throws IOException {
+        byte[] content = new byte[10_000];
+        new Random(3).nextBytes(content);
+        SeekableSource source = new ByteArraySeekableSource(content) {
+            @Override
+            public boolean supportsCursors() {
+                return false;
+            }
+
+            @Override
+            public SeekableSource cursor() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        List<ByteRange> ranges = List.of(new ByteRange(0, 5000), new ByteRange(5000, 5000));
+        assertArrayEquals(RangeHashIndex.hash(new ByteArraySeekableSource(content), ranges),
+                RangeHashIndex.hash(source, ranges, 10));
+    }
+
+    @Test
+    public void findAcrossSources() throws IOException {
+        SeekableSource first = new ByteArraySeekableSource("logo font other".getBytes());
+        SeekableSource second = new ByteArraySeekableSource("font xx logo".getBytes());
+        RangeHashIndex victim = new RangeHashIndex();
+        victim.add(first, List.of(new ByteRange(0, 4), new ByteRange(5, 4), new ByteRange(10, 5)));
+        assertEquals(new RangeHashIndex.Entry(first, new ByteRange(0, 4)),
+                victim.find(second, new ByteRange(8, 4)).orElseThrow());
+        assertEquals(new RangeHashIndex.Entry(first, new ByteRange(5, 4)),
+                victim.find(second, new ByteRange(0, 4)).orElseThrow());
+        assertTrue(victim.find(second, new ByteRange(5, 2)).isEmpty());
+        assertTrue(victim.find(first, new ByteRange(0, 4)).isEmpty());
+    }
+
+    @Test
+    public void collisionsAreVerified() throws IOException {
+        byte[][] colliding = colliding();
+        SeekableSource source = new ByteArraySeekableSource(colliding[0]);
+        SeekableSource other = new ByteArraySeekableSource(colliding[1]);
+        RangeHashIndex victim = new RangeHashIndex();
+        long[] hashes = victim.add(source, List.of(new ByteRange(0, 8)));
+        assertArrayEquals(hashes, victim.add(other, List.of(new ByteRange(0, 8))));
+        assertTrue(victim.find(other, new ByteRange(0, 8)).isEmpty());
+        assertTrue(victim.duplicates().isEmpty());
+    }
+
+    @Test
+    public void duplicates() throws IOException {
+        SeekableSource first = new ByteArraySeekableSource("aaaabbbbaaaa".getBytes());
+        SeekableSource second = new ByteArraySeekableSource("bbbbccaaaa".getBytes());
+        RangeHashIndex victim = new RangeHashIndex();
+        victim.add(first, List.of(new ByteRange(0, 4), new ByteRange(4, 4), new ByteRange(8, 4)));
+        victim.add(second, List.of(new ByteRange(0, 4), new ByteRange(4, 2), new ByteRange(6, 100)));
+        List<List<RangeHashIndex.Entry>> duplicates = victim.duplicates();
+        assertEquals(2, duplicates.size());
+        assertTrue(duplicates.contains(List.of(new RangeHashIndex.Entry(first, new ByteRange(0, 4)),
+                new RangeHashIndex.Entry(first, new ByteRange(8, 4)),
+                new RangeHashIndex.Entry(second, new ByteRange(6, 4)))));
+        assertTrue(duplicates.contains(List.of(new RangeHashIndex.Entry(first, new ByteRange(4, 4)),
+                new RangeHashIndex.Entry(second, new ByteRange(0, 4)))));
+    }
+
+    /**
+     * Birthday search of two different 8 bytes inputs with the same CRC32C
+     */
+    private static byte[][] colliding() {
+        Map<Long, byte[]> seen = new HashMap<>();
+        CRC32C crc = new CRC32C();
+        Random random = new Random(1);
+        while (true) {
+            byte[] candidate = new byte[8];
+            random.nextBytes(candidate);
+            crc.reset();
+            crc.update(candidate);
+            byte[] previous = seen.putIfAbsent(crc.getValue(), candidate);
+            if (previous != null && !Arrays.equals(previous, candidate)) {
+                return new byte[][] { previous, candidate };
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class ScanIndexCacheTest {
+    @TempDir
+    private Path temp;
+
+    @Test
+    public void nullDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> new ScanIndexCache(null));
+    }
+
+    @Test
+    public void invalidName() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 1 });
+        assertThrows(IllegalArgumentException.class, () -> victim.load(source, null));
+        assertThrows(IllegalArgumentException.class, () -> victim.load(source, "../escape"));
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp.resolve("cache"));
+        SeekableSource source = new ByteArraySeekableSource(randomContent(1000, 1));
+        long[][] values = new long[][] { { 0, 5, 5, 300, 1L << 40, Long.MAX_VALUE }, {}, { -10, 7, -3 } };
+        assertTrue(victim.load(source, "markers").isEmpty());
+        victim.store(source, "markers", values);
+        long[][] loaded = victim.load(source, "markers").orElseThrow();
+        assertEquals(values.length, loaded.length);
+        for (int i = 0; i < values.length; i++) {
+            assertArrayEquals(values[i], loaded[i]);
+        }
+        assertTrue(victim.load(source, "lines").isEmpty());
+    }
+
+    @Test
+    public void computeIfAbsent() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        SeekableSource source = new ByteArraySeekableSource(randomContent(500_000, 2));
+        AtomicInteger scans = new AtomicInteger();
+        ScanIndexCache.Scan scan = s -> {
+            scans.incrementAndGet();
+            return MultiPatternScanner.ofAscii("ab").scan(s);
+        };
+        long[][] first = victim.computeIfAbsent(source, "markers", scan);
+        long[][] second = new ScanIndexCache(temp).computeIfAbsent(source, "markers", scan);
+        assertEquals(1, scans.get());
+        assertArrayEquals(first[0], second[0]);
+        assertTrue(first[0].length > 0);
+    }
+
+    @Test
+    public void nullFingerprint() {
+        assertThrows(IllegalArgumentException.class, () -> new ScanIndexCache(temp, null));
+    }
+
+    @Test
+    public void changedContentIsNotMatched() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        byte[] content = randomContent(500_000, 3);
+        victim.store(new ByteArraySeekableSource(content), "markers", new long[][] { { 1, 2 } });
+        content[250_001]++;
+        assertTrue(victim.load(new ByteArraySeekableSource(content), "markers").isEmpty());
+        assertTrue(victim.load(new ByteArraySeekableSource(randomContent(10, 3)), "markers").isEmpty());
+    }
+
+    @Test
+    public void sampledFingerprint() throws IOException {
+        byte[] content = randomContent(2_000_000, 4);
+        ScanIndexCache victim = new ScanIndexCache(temp, ScanIndexCache.Fingerprint.SAMPLED);
+        String fingerprint = victim.fingerprint(new ByteArraySeekableSource(content));
+        content[10]++;
+        assertNotEquals(fingerprint, victim.fingerprint(new ByteArraySeekableSource(content)));
+        content[10]--;
+        content[content.length - 10]++;
+        assertNotEquals(fingerprint, victim.fingerprint(new ByteArraySeekableSource(content)));
+        content[content.length - 10]--;
+        content[70_000]++;
+        assertEquals(fingerprint, victim.fingerprint(new ByteArraySeekableSource(content)));
+    }
+
+    @Test
+    public void fullFingerprintByDefault() throws IOException {
+        byte[] content = randomContent(2_000_000, 4);
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        String fingerprint = victim.fingerprint(new ByteArraySeekableSource(content));
+        assertEquals(64, fingerprint.length());
+        content[70_000]++;
+        assertNotEquals(fingerprint, victim.fingerprint(new ByteArraySeekableSource(content)));
+    }
+
+    @Test
+    public void corruptedEntryIsDiscarded() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        SeekableSource source = new ByteArraySeekableSource(randomContent(100, 5));
+        victim.store(source, "markers", new long[][] { { 1, 2 } });
+        try (var files = Files.list(temp)) {
+            Files.write(files.findFirst().orElseThrow(), new byte[] { 1, 2, 3 });
+        }
+        assertTrue(victim.load(source, "markers").isEmpty());
+        try (var files = Files.list(temp)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    public void hugeCountIsDiscarded() throws IOException {
+        ScanIndexCache victim = new ScanIndexCache(temp);
+        SeekableSource source = new ByteArraySeekableSource(randomContent(100, 6));
+        victim.store(source, "markers", new long[][] { { 1, 2 } });
+        try (var files = Files.list(temp)) {
+            // magic, version and a count of Integer.MAX_VALUE arrays
+            Files.write(files.findFirst().orElseThrow(),
+                    new byte[] { 0x53, 0x4a, 0x49, 0x58, 0, 0, 0, 1, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+                            0x07 });
+        }
+        assertTrue(victim.load(source, "markers").isEmpty());
+        try (var files = Files.list(temp)) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    private static byte[] randomContent(int size, long seed) {
+        byte[] content = new byte[size];
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + random.nextInt(3));
+        }
+        return content;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeekableSourceOptionsTest {
+
+    @AfterEach
+    public void tearDown() {
+        System.getProperties().remove(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY);
+        System.getProperties().remove(SeekableSources.DISABLE_MEMORY_MAPPED_PROPERTY);
+        System.getProperties().remove(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY);
+        System.getProperties().remove(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY);
+    }
+
+    @Test
+    public void defaults() {
+        SeekableSourceOptions options = SeekableSourceOptions.defaults();
+        assertEquals(8192, options.inputBufferSize());
+        assertFalse(options.directBuffers());
+        assertEquals(0, options.readahead());
+        assertEquals(1 << 17, options.directIOBufferSize());
+        assertTrue(options.memoryMapped());
+        assertEquals(1 << 24, options.mappedSizeThreshold());
+        assertEquals(1 << 28, options.mappedPageSize());
+        assertEquals(MemoryMappedSeekableSource.Lifecycle.SHARED, options.mappedLifecycle());
+        assertFalse(options.lazyChannels());
+    }
+
+    @Test
+    public void defaultsFromSystemProperties() {
+        System.setProperty(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY, "1024");
+        System.setProperty(SeekableSources.DISABLE_MEMORY_MAPPED_PROPERTY, "true");
+        System.setProperty(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, "AUTO");
+        SeekableSourceOptions options = SeekableSourceOptions.defaults();
+        assertEquals(1024, options.inputBufferSize());
+        assertFalse(options.memoryMapped());
+        assertEquals(MemoryMappedSeekableSource.Lifecycle.AUTO, options.mappedLifecycle());
+    }
+
+    @Test
+    public void invalidSystemProperties() {
+        System.setProperty(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY, "chuck");
+        System.setProperty(SeekableSources.MEMORY_MAPPED_PAGE_SIZE_PROPERTY, "-10");
+        System.setProperty(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, "norris");
+        SeekableSourceOptions options = SeekableSourceOptions.defaults();
+        assertEquals(8192, options.inputBufferSize());
+        assertEquals(1 << 28, options.mappedPageSize());
+        assertEquals(MemoryMappedSeekableSource.Lifecycle.SHARED, options.mappedLifecycle());
+        System.setProperty(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, " confined ");
+        assertEquals(MemoryMappedSeekableSource.Lifecycle.CONFINED, SeekableSourceOptions.defaults().mappedLifecycle());
+    }
+
+    @Test
+    public void defaultsParsedOnlyWhenPropertiesChange() {
+        SeekableSourceOptions options = SeekableSourceOptions.defaults();
+        assertSame(options, SeekableSourceOptions.defaults());
+        System.setProperty(SeekableSources.INPUT_BUFFER_SIZE_PROPERTY, "1024");
+        SeekableSourceOptions changed = SeekableSourceOptions.defaults();
+        assertNotSame(options, changed);
+        assertEquals(1024, changed.inputBufferSize());
+        assertSame(changed, SeekableSourceOptions.defaults());
+    }
+
+    @Test
+    public void builder() {
+        SeekableSourceOptions options = SeekableSourceOptions.builder().inputBufferSize(100).directBuffers(true)
+                .readahead(1000).directIOBufferSize(4096).memoryMapped(false).mappedSizeThreshold(10)
+                .mappedPageSize(50).mappedLifecycle(MemoryMappedSeekableSource.Lifecycle.CONFINED).lazyChannels(true)
+                .build();
+        assertEquals(100, options.inputBufferSize());
+        assertTrue(options.directBuffers());
+        assertEquals(1000, options.readahead());
+        assertEquals(4096, options.directIOBufferSize());
+        assertFalse(options.memoryMapped());
+        assertEquals(10, options.mappedSizeThreshold());
+        assertEquals(50, options.mappedPageSize());
+        assertEquals(MemoryMappedSeekableSource.Lifecycle.CONFINED, options.mappedLifecycle());
+        assertTrue(options.lazyChannels());
+        SeekableSourceOptions other = options.toBuilder().inputBufferSize(200).build();
+        assertEquals(200, other.inputBufferSize());
+        assertEquals(1000, other.readahead());
+        assertEquals(100, options.inputBufferSize());
+    }
+
+    @Test
+    public void invalidValues() {
+        SeekableSourceOptions.Builder builder = SeekableSourceOptions.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.inputBufferSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.readahead(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.directIOBufferSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.mappedSizeThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.mappedPageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.mappedLifecycle(null));
+    }
+}
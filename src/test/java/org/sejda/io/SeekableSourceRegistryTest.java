@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class SeekableSourceRegistryTest {
+    private Path tempFile;
+    private SeekableSourceRegistry victim;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempFile = Files.createTempFile("SejdaIO", null);
+        Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        victim = new SeekableSourceRegistry(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        victim.close();
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    public void invalidDelay() {
+        assertThrows(IllegalArgumentException.class, () -> new SeekableSourceRegistry(null));
+        assertThrows(IllegalArgumentException.class, () -> new SeekableSourceRegistry(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void nullPath() {
+        assertThrows(NullPointerException.class, () -> victim.lease(null));
+    }
+
+    @Test
+    public void leasesShareTheSource() throws IOException {
+        SeekableSource first = victim.lease(tempFile);
+        SeekableSource second = victim.lease(tempFile);
+        assertInstanceOf(BufferedSeekableSource.class, first);
+        assertEquals(1, victim.size());
+        assertEquals(Files.size(tempFile), first.size());
+        assertEquals('%', first.read());
+        assertEquals('P', first.read());
+        assertEquals('%', second.read());
+        assertEquals(2, first.position());
+        assertEquals(1, second.position());
+        first.close();
+        assertTrue(second.isOpen());
+        assertEquals('P', second.read());
+        second.close();
+    }
+
+    @Test
+    public void sharedEvenWhenMappedSourcesAreConfined() throws Exception {
+        System.setProperty(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY, "10");
+        System.setProperty(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY, "CONFINED");
+        try {
+            SeekableSource first = victim.lease(tempFile);
+            SeekableSource second = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return victim.lease(tempFile);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals(1, victim.size());
+            assertEquals('%', first.read());
+            assertEquals('%', second.read());
+            first.close();
+            second.close();
+        } finally {
+            System.getProperties().remove(SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY);
+            System.getProperties().remove(SeekableSources.MEMORY_MAPPED_LIFECYCLE_PROPERTY);
+        }
+    }
+
+    @Test
+    public void idleSourcesAreClosed() throws Exception {
+        SeekableSource lease = victim.lease(tempFile);
+        lease.close();
+        lease.close();
+        assertFalse(lease.isOpen());
+        long timeout = System.currentTimeMillis() + 5000;
+        while (victim.size() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, victim.size());
+        try (SeekableSource another = victim.lease(tempFile)) {
+            assertEquals('%', another.read());
+            assertEquals(1, victim.size());
+        }
+    }
+
+    @Test
+    public void newLeaseCancelsIdleClose() throws Exception {
+        victim = new SeekableSourceRegistry(Duration.ofMillis(200));
+        SeekableSource lease = victim.lease(tempFile);
+        lease.close();
+        try (SeekableSource another = victim.lease(tempFile)) {
+            Thread.sleep(400);
+            assertEquals(1, victim.size());
+            assertEquals('%', another.read());
+        }
+    }
+
+    @Test
+    public void modifiedFileIsOpenedAgain() throws IOException {
+        SeekableSource lease = victim.lease(tempFile);
+        Files.write(tempFile, new byte[] { 'a', 'b' });
+        SeekableSource changed = victim.lease(tempFile);
+        assertEquals(2, victim.size());
+        assertEquals(2, changed.size());
+        assertEquals('a', changed.read());
+        lease.close();
+        changed.close();
+    }
+
+    @Test
+    public void closeMakesLeasesUnreadable() throws IOException {
+        SeekableSource lease = victim.lease(tempFile);
+        victim.close();
+        assertFalse(lease.isOpen());
+        assertThrows(IllegalStateException.class, lease::read);
+        assertThrows(IllegalStateException.class, () -> victim.lease(tempFile));
+    }
+
+    @Test
+    public void missingFile() throws IOException {
+        Files.delete(tempFile);
+        assertThrows(IOException.class, () -> victim.lease(tempFile));
+        assertEquals(0, victim.size());
+    }
+}
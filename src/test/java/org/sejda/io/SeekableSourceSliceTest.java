@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Sober Lemur S.r.l. and Sejda BV
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.sejda.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Andrea Vacondio
+ */
+public class SeekableSourceSliceTest {
+
+    @Test
+    public void nullSegment() {
+        assertThrows(IllegalArgumentException.class, () -> SeekableSourceSlice.of((MemorySegment) null));
+    }
+
+    @Test
+    public void nullBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> SeekableSourceSlice.of((ByteBuffer) null));
+    }
+
+    @Test
+    public void ofBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 'a', 'b', 'c' }).position(1);
+        try (SeekableSourceSlice slice = SeekableSourceSlice.of(buffer)) {
+            assertTrue(slice.isZeroCopy());
+            assertEquals(2, slice.size());
+            assertEquals('b', slice.asByteBuffer().get());
+            assertEquals('c', slice.asSegment().get(ValueLayout.JAVA_BYTE, 1));
+            assertTrue(slice.asByteBuffer().isReadOnly());
+        }
+    }
+
+    @Test
+    public void copyOf() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 'a', 'b', 'c', 'd' });
+        source.position(3);
+        try (SeekableSourceSlice slice = SeekableSourceSlice.copyOf(source, 1, 2)) {
+            assertFalse(slice.isZeroCopy());
+            assertEquals(2, slice.size());
+            assertEquals('b', slice.asByteBuffer().get());
+            assertEquals('c', slice.asByteBuffer().get(1));
+            assertTrue(slice.asByteBuffer().isReadOnly());
+            assertTrue(slice.asSegment().isReadOnly());
+        }
+        assertEquals(3, source.position());
+    }
+
+    @Test
+    public void copyOfBiggerThanPooled() throws IOException {
+        byte[] bytes = new byte[100_000];
+        bytes[99_999] = 'z';
+        try (SeekableSourceSlice slice = SeekableSourceSlice.copyOf(new ByteArraySeekableSource(bytes), 0,
+                bytes.length)) {
+            assertEquals(bytes.length, slice.size());
+            assertEquals('z', slice.asByteBuffer().get(99_999));
+        }
+    }
+
+    @Test
+    public void doubleClose() throws IOException {
+        SeekableSourceSlice slice = SeekableSourceSlice.copyOf(new ByteArraySeekableSource(new byte[] { 'a' }), 0, 1);
+        slice.close();
+        slice.close();
+    }
+
+    @Test
+    public void mismatch(@TempDir Path temp) throws IOException {
+        byte[] content = new byte[300_000];
+        new Random(3).nextBytes(content);
+        byte[] changed = content.clone();
+        changed[200_001]++;
+        Path file = Files.write(temp.resolve("content.bin"), changed);
+        try (SeekableSource bytes = new ByteArraySeekableSource(content);
+                SeekableSource mapped = new MemoryMappedSeekableSource(file);
+                SeekableSource channel = new FileChannelSeekableSource(file)) {
+            for (SeekableSource other : new SeekableSource[] { mapped, channel }) {
+                assertEquals(200_001, bytes.mismatch(other, 0, 0, content.length));
+                assertEquals(199_000, bytes.mismatch(other, 1001, 1001, content.length));
+                assertTrue(bytes.rangeEquals(other, 100, 100, 200_001 - 100));
+                assertFalse(bytes.rangeEquals(other, 100, 100, 200_002 - 100));
+                assertTrue(bytes.rangeEquals(other, 200_002, 200_002, content.length));
+            }
+            assertEquals(0, bytes.position());
+            assertEquals(0, channel.position());
+        }
+    }
+
+    @Test
+    public void mismatchDifferentLengths() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 'a', 'b', 'c', 'a', 'b' });
+        assertEquals(2, source.mismatch(source, 0, 3, 3));
+        assertTrue(source.rangeEquals(source, 0, 3, 2));
+        assertTrue(source.rangeEquals(source, 5, 10, 3));
+        assertEquals(-1, source.mismatch(source, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> source.mismatch(null, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> source.mismatch(source, -1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> source.mismatch(source, 0, 0, -1));
+    }
+
+    @Test
+    public void mismatchClosed() throws IOException {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 'a' });
+        SeekableSource other = new ByteArraySeekableSource(new byte[] { 'a' });
+        other.close();
+        assertThrows(IllegalStateException.class, () -> source.rangeEquals(other, 0, 0, 1));
+    }
+
+    @Test
+    public void length() {
+        SeekableSource source = new ByteArraySeekableSource(new byte[] { 'a', 'b', 'c', 'd' });
+        assertEquals(2, SeekableSourceSlice.length(source, 1, 2));
+        assertEquals(1, SeekableSourceSlice.length(source, 3, 2));
+        assertEquals(0, SeekableSourceSlice.length(source, 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> SeekableSourceSlice.length(source, -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> SeekableSourceSlice.length(source, 1, -2));
+    }
+}
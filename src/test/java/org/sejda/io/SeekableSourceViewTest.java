@@ -21,14 +21,19 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Andrea Vacondio
@@ -78,6 +83,18 @@ public class SeekableSourceViewTest extends BaseTestSeekableSource {
                 "View length must be positive");
     }
 
+    @Test
+    public void willNeedAndDontNeedAreTranslated() throws IOException {
+        SeekableSource wrapped = mock(SeekableSource.class);
+        when(wrapped.size()).thenReturn(1000L);
+        when(wrapped.isOpen()).thenReturn(true);
+        SeekableSourceView view = new SeekableSourceView(() -> wrapped, "id", 50, 100);
+        view.willNeed(List.of(new ByteRange(10, 20), new ByteRange(90, 20), new ByteRange(200, 20)));
+        verify(wrapped).willNeed(List.of(new ByteRange(60, 20), new ByteRange(140, 10), new ByteRange(150, 0)));
+        view.dontNeed(new ByteRange(0, 200));
+        verify(wrapped).dontNeed(new ByteRange(50, 100));
+    }
+
     @Test
     public void size() {
         assertEquals(100, victim.size());
@@ -148,6 +165,32 @@ public class SeekableSourceViewTest extends BaseTestSeekableSource {
         assertFalse(empty.hasRemaining());
     }
 
+    @Test
+    public void sliceBoundToView() throws IOException {
+        try (SeekableSourceSlice slice = victim.slice(90, 20)) {
+            assertEquals(10, slice.size());
+        }
+        try (SeekableSourceSlice slice = new SeekableSourceView(
+                () -> new ByteArraySeekableSource(new byte[] { 'a', 'b', 'c', 'd' }), "id", 1, 2).slice(0, 5)) {
+            assertEquals(2, slice.size());
+            assertEquals('b', slice.asByteBuffer().get());
+            assertEquals('c', slice.asByteBuffer().get(1));
+        }
+    }
+
+    @Test
+    public void readAsciiNumbers() throws IOException {
+        victim = new SeekableSourceView(
+                () -> new ByteArraySeekableSource("1 0 obj 2 0 obj".getBytes(StandardCharsets.US_ASCII)), "id", 8,
+                4);
+        assertEquals(2, victim.readAsciiLong());
+        victim.forward(1);
+        assertEquals(0.0, victim.readAsciiDouble());
+        victim.forward(1);
+        assertThrows(NumberFormatException.class, () -> victim.readAsciiLong());
+        assertEquals(4, victim.position());
+    }
+
     @Test
     public void readBigBuff() throws IOException {
         ByteBuffer dst = ByteBuffer.allocate(8000);
@@ -29,6 +29,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -36,10 +37,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.sejda.io.SeekableSources.DISABLE_MEMORY_MAPPED_PROPERTY;
 import static org.sejda.io.SeekableSources.MAPPED_SIZE_THRESHOLD_PROPERTY;
+import static org.sejda.io.SeekableSources.anonymousTempFileSeekableSourceFrom;
 import static org.sejda.io.SeekableSources.asOffsettable;
+import static org.sejda.io.SeekableSources.compressedSeekableSourceFrom;
+import static org.sejda.io.SeekableSources.directSeekableSourceFrom;
 import static org.sejda.io.SeekableSources.inMemorySeekableSourceFrom;
 import static org.sejda.io.SeekableSources.onTempFileSeekableSourceFrom;
+import static org.sejda.io.SeekableSources.progressiveSeekableSourceFrom;
 import static org.sejda.io.SeekableSources.seekableSourceFrom;
+import static org.sejda.io.SeekableSources.sharedSeekableSourceFrom;
 
 /**
  * @author Andrea Vacondio
@@ -121,6 +127,46 @@ public class SeekableSourcesTest {
         }
     }
 
+    @Test
+    public void seekableSourceFromWithOptions() throws IOException {
+        Path tempFile = Files.createTempFile("SejdaIO", null);
+        Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        SeekableSourceOptions mapped = SeekableSourceOptions.builder().mappedSizeThreshold(10).build();
+        try (SeekableSource source = seekableSourceFrom(tempFile, mapped)) {
+            assertInstanceOf(MemoryMappedSeekableSource.class, ((BufferedSeekableSource) source).wrapped());
+        }
+        try (SeekableSource source = seekableSourceFrom(tempFile, mapped.toBuilder().memoryMapped(false).build())) {
+            assertInstanceOf(FileChannelSeekableSource.class, ((BufferedSeekableSource) source).wrapped());
+        }
+        assertThrows(NullPointerException.class, () -> seekableSourceFrom(tempFile, null));
+        Files.delete(tempFile);
+    }
+
+    @Test
+    public void lowMemoryBudget() throws IOException {
+        SeekableSource inMemory = inMemorySeekableSourceFrom(new byte[1000]);
+        Path tempFile = Files.createTempFile("SejdaIO", null);
+        try {
+            System.setProperty(MAPPED_SIZE_THRESHOLD_PROPERTY, "10");
+            MemoryBudget.global().limit(MemoryBudget.global().used());
+            assertTrue(MemoryBudget.global().isLow());
+            Files.copy(getClass().getResourceAsStream("/pdf/simple_test.pdf"), tempFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            SeekableSource source = seekableSourceFrom(tempFile.toFile());
+            assertInstanceOf(FileChannelSeekableSource.class, ((BufferedSeekableSource) source).wrapped());
+            SeekableSource fromStream = inMemorySeekableSourceFrom(new ByteArrayInputStream(new byte[] { 1, 2 }));
+            assertInstanceOf(FileChannelSeekableSource.class, ((BufferedSeekableSource) fromStream).wrapped());
+            fromStream.close();
+            source.close();
+        } finally {
+            System.getProperties().remove(MAPPED_SIZE_THRESHOLD_PROPERTY);
+            MemoryBudget.global().limit(Long.MAX_VALUE);
+            inMemory.close();
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     @Test
     public void disableMemoryMapped() throws IOException {
         try {
@@ -157,6 +203,54 @@ public class SeekableSourcesTest {
         }
     }
 
+    @Test
+    public void nullDirectSeekableSourceFrom() {
+        assertThrows(NullPointerException.class, () -> directSeekableSourceFrom(null));
+    }
+
+    @Test
+    public void directSeekableSourceFromPath(@TempDir Path temp) throws IOException {
+        Path test = temp.resolve("test.txt");
+        Files.writeString(test, "chuck");
+        try (SeekableSource source = directSeekableSourceFrom(test)) {
+            assertInstanceOf(DirectFileChannelSeekableSource.class, source);
+            assertEquals('c', source.read());
+        }
+    }
+
+    @Test
+    public void nullSharedSeekableSourceFrom() {
+        assertThrows(NullPointerException.class, () -> sharedSeekableSourceFrom(null));
+    }
+
+    @Test
+    public void sharedSeekableSourceFromPath(@TempDir Path temp) throws IOException {
+        Path test = temp.resolve("test.txt");
+        Files.writeString(test, "chuck");
+        try (SeekableSource first = sharedSeekableSourceFrom(test); SeekableSource second = sharedSeekableSourceFrom(
+                test)) {
+            assertInstanceOf(BufferedSeekableSource.class, first);
+            assertEquals('c', first.read());
+            assertEquals('c', second.read());
+        }
+    }
+
+    @Test
+    public void nullProgressiveSeekableSourceFrom() {
+        assertThrows(NullPointerException.class, () -> progressiveSeekableSourceFrom(null));
+        assertThrows(NullPointerException.class, () -> progressiveSeekableSourceFrom(null, 10));
+    }
+
+    @Test
+    public void progressiveSeekableSourceFromStream() throws IOException {
+        try (SeekableSource source = progressiveSeekableSourceFrom(new ByteArrayInputStream(new byte[] { 1, 2 }),
+                2)) {
+            assertInstanceOf(ProgressiveTempFileSeekableSource.class, source);
+            assertEquals(2, source.size());
+            assertEquals(1, source.read());
+        }
+    }
+
     @Test
     public void inMemorySeekableSourceFromBytes() {
         assertNotNull(inMemorySeekableSourceFrom(new byte[] { -1 }));
@@ -192,4 +286,33 @@ public class SeekableSourcesTest {
         assertFalse(Files.exists(Paths.get(result.id())));
     }
 
+    @Test
+    public void nullAnonymousTempFileSeekableSourceFrom() {
+        assertThrows(NullPointerException.class, () -> anonymousTempFileSeekableSourceFrom(null));
+    }
+
+    @Test
+    public void anonymousTempFileSeekableSourceFromWithFilenameHint() throws IOException {
+        try (SeekableSource result = anonymousTempFileSeekableSourceFrom(new ByteArrayInputStream(new byte[] { -1, 2 }),
+                "input.pdf")) {
+            assertTrue(result.id().endsWith("input.pdf"));
+            assertEquals(2, result.size());
+            assertEquals(0xff, result.read());
+            assertEquals(2, result.read());
+        }
+    }
+
+    @Test
+    public void nullCompressedSeekableSourceFrom() {
+        assertThrows(NullPointerException.class, () -> compressedSeekableSourceFrom(null));
+    }
+
+    @Test
+    public void compressedSeekableSourceFromStream() throws IOException {
+        try (SeekableSource result = compressedSeekableSourceFrom(new ByteArrayInputStream(new byte[] { -1, 2 }))) {
+            assertInstanceOf(CompressedSeekableSource.class, result);
+            assertEquals(2, result.size());
+            assertEquals(0xff, result.read());
+        }
+    }
 }